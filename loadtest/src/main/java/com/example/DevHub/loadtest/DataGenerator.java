@@ -0,0 +1,276 @@
+package com.example.DevHub.loadtest;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Bulk-loads a synthetic DevHub dataset with COPY, one batch of rows per round-trip.
+ * Distributions are skewed the way real content is: a few heavy authors write most posts and projects,
+ * a few hot posts collect most views and comments, and tags and technologies follow a long tail.
+ * The tag and technology indexes are then filled with set-based SQL, as the app would have maintained them.
+ * Start DevHub once beforehand so Hibernate has created the schema. Loading again adds another dataset:
+ * generated usernames continue after the existing ones. All generated users share {@link #PASSWORD}.
+ * Options: --users, --posts, --projects, --comments, --admin-ratio, --seed, --batch-size.
+ */
+final class DataGenerator {
+
+    static final String USERNAME_PREFIX = "lt_user_";
+    static final String PASSWORD = "loadtest-password";
+
+    private static final String[] TAGS = {"java", "spring", "postgres", "performance", "testing", "security", "docker",
+            "kubernetes", "react", "career", "architecture", "kotlin", "jvm", "sql", "devops", "frontend", "api",
+            "microservices", "cloud", "open-source"};
+    private static final String[] TECHNOLOGIES = {"Java", "Spring Boot", "PostgreSQL", "React", "Docker", "Kubernetes",
+            "TypeScript", "Redis", "Kafka", "Hibernate", "Angular", "Node.js", "Python", "Go", "AWS", "Gradle", "Maven",
+            "Vue", "MongoDB", "GraphQL"};
+    private static final String[] WORDS = {"build", "fast", "service", "query", "cache", "index", "thread", "request",
+            "deploy", "latency", "schema", "batch", "stream", "model", "review", "design", "error", "release", "test", "data"};
+
+    private final LoadTest.Options options;
+    private final int users;
+    private final int posts;
+    private final int projects;
+    private final int comments;
+    private final double adminRatio;
+    private final int batchSize;
+    private final Random random;
+    private final LocalDateTime now = LocalDateTime.now().withNano(0);
+
+    DataGenerator(LoadTest.Options options) {
+        this.options = options;
+        this.users = options.getInt("users", 10_000);
+        this.posts = options.getInt("posts", 50_000);
+        this.projects = options.getInt("projects", 20_000);
+        this.comments = options.getInt("comments", 500_000);
+        this.adminRatio = options.getDouble("admin-ratio", 0.01);
+        this.batchSize = options.getInt("batch-size", 10_000);
+        this.random = new Random(options.getLong("seed", 42));
+        if (users <= 0 || posts <= 0 || projects <= 0 || comments < 0 || batchSize <= 0) {
+            throw new IllegalArgumentException("Users, posts, projects and the batch size must be positive");
+        }
+    }
+
+    void generate() throws SQLException, IOException {
+        try (Connection connection = DriverManager.getConnection(options.jdbcUrl(), options.dbUser(), options.dbPassword())) {
+            connection.setAutoCommit(false);
+            CopyManager copy = connection.unwrap(PGConnection.class).getCopyAPI();
+            long started = System.nanoTime();
+
+            int firstUser = (int) count(connection, "SELECT COUNT(*) FROM users WHERE username LIKE '" + USERNAME_PREFIX + "%'");
+            long[] userIds = load(connection, copy, "users", "username, password, email, bio, role_mask, enabled, created_at",
+                    users, new UserRows(firstUser));
+            report("users", users, started);
+
+            Zipf authors = new Zipf(userIds.length, 1.1);
+            long[] postIds = load(connection, copy, "blog_posts", "title, content, views, version, created_at, updated_at, author_id",
+                    posts, i -> {
+                        LocalDateTime createdAt = pastTime();
+                        return csv(sentence(6), paragraph(), hotViews(i, posts), 0, createdAt, createdAt, userIds[authors.next(random)]);
+                    });
+            report("blog posts", posts, started);
+
+            Zipf tagPopularity = new Zipf(TAGS.length * 10, 1.0);
+            copyRows(copy, "blog_post_tags", "post_id, tag", postIds.length, i -> {
+                Set<String> tags = new LinkedHashSet<>();
+                int wanted = 1 + random.nextInt(5);
+                while (tags.size() < wanted) {
+                    tags.add(tagName(tagPopularity.next(random)));
+                }
+                StringBuilder rows = new StringBuilder();
+                for (String tag : tags) {
+                    rows.append(csv(postIds[i], tag));
+                }
+                return rows.toString();
+            });
+            indexTags(connection, postIds[0]);
+            connection.commit();
+            report("post tags", postIds.length, started);
+
+            Zipf technologies = new Zipf(TECHNOLOGIES.length, 0.9);
+            long[] projectIds = load(connection, copy, "projects", "title, description, url, tech_stack, views, version, created_at, updated_at, user_id",
+                    projects, i -> {
+                        LocalDateTime createdAt = pastTime();
+                        Set<String> stack = new LinkedHashSet<>();
+                        int wanted = 2 + random.nextInt(5);
+                        while (stack.size() < wanted) {
+                            stack.add(TECHNOLOGIES[technologies.next(random)]);
+                        }
+                        return csv(sentence(4), paragraph(), "https://github.com/devhub-loadtest/project-" + i,
+                                String.join(", ", stack), hotViews(i, projects), 0, createdAt, createdAt, userIds[authors.next(random)]);
+                    });
+            indexTechnologies(connection, projectIds[0]);
+            connection.commit();
+            report("projects", projects, started);
+
+            // Hot content: comments pile up on the most viewed posts and projects, written by a long tail of users
+            Zipf hotPosts = new Zipf(postIds.length, 1.0);
+            Zipf hotProjects = new Zipf(projectIds.length, 1.0);
+            Zipf commenters = new Zipf(userIds.length, 0.8);
+            copyRows(copy, "comments", "content, version, commented_at, user_id, blog_post_id, project_id", comments, i -> {
+                boolean onPost = random.nextDouble() < 0.7;
+                return csv(sentence(12), 0, pastTime(), userIds[commenters.next(random)],
+                        onPost ? postIds[hotPosts.next(random)] : null, onPost ? null : projectIds[hotProjects.next(random)]);
+            });
+            connection.commit();
+            report("comments", comments, started);
+
+            connection.setAutoCommit(true);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("ANALYZE");
+            }
+            report("analyze", 0, started);
+        }
+    }
+
+    // Ranks 0.. are the hottest; views fall off like 1/rank with some noise
+    private long hotViews(int rank, int total) {
+        return Math.round(total * 2.0 / (rank + 1)) + random.nextInt(50);
+    }
+
+    private String tagName(int rank) {
+        return rank < TAGS.length ? TAGS[rank] : TAGS[rank % TAGS.length] + "-" + rank / TAGS.length;
+    }
+
+    private void indexTags(Connection connection, long firstPostId) throws SQLException {
+        update(connection, "INSERT INTO tags (name, post_count) SELECT tag, COUNT(DISTINCT post_id) FROM blog_post_tags "
+                + "WHERE post_id >= ? GROUP BY tag ON CONFLICT (name) DO UPDATE SET post_count = tags.post_count + EXCLUDED.post_count", firstPostId);
+        update(connection, "INSERT INTO post_tag_index (post_id, tag_id) SELECT DISTINCT b.post_id, t.id FROM blog_post_tags b "
+                + "JOIN tags t ON t.name = b.tag WHERE b.post_id >= ? ON CONFLICT DO NOTHING", firstPostId);
+    }
+
+    // Splits tech stacks on the separators TechnologyIndexService uses and normalizes the terms the same way
+    private void indexTechnologies(Connection connection, long firstProjectId) throws SQLException {
+        String terms = "SELECT DISTINCT p.id AS project_id, lower(trim(term)) AS name FROM projects p, "
+                + "regexp_split_to_table(p.tech_stack, '[,;|/\\r\\n]+') AS term WHERE p.id >= ? AND trim(term) <> ''";
+        update(connection, "INSERT INTO technologies (name, project_count) SELECT name, COUNT(*) FROM (" + terms + ") s "
+                + "GROUP BY name ON CONFLICT (name) DO UPDATE SET project_count = technologies.project_count + EXCLUDED.project_count", firstProjectId);
+        update(connection, "INSERT INTO project_technologies (project_id, technology_id) SELECT s.project_id, t.id FROM (" + terms + ") s "
+                + "JOIN technologies t ON t.name = s.name ON CONFLICT DO NOTHING", firstProjectId);
+    }
+
+    /**
+     * Copies generated rows into a table with an identity key and returns the new keys in row order.
+     */
+    private long[] load(Connection connection, CopyManager copy, String table, String columns, int rows, RowSource source)
+            throws SQLException, IOException {
+        long before = count(connection, "SELECT COALESCE(MAX(id), 0) FROM " + table);
+        copyRows(copy, table, columns, rows, source);
+        connection.commit();
+        List<Long> ids = new ArrayList<>(rows);
+        try (PreparedStatement statement = connection.prepareStatement("SELECT id FROM " + table + " WHERE id > ? ORDER BY id")) {
+            statement.setLong(1, before);
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    ids.add(rs.getLong(1));
+                }
+            }
+        }
+        if (ids.size() != rows) {
+            throw new IllegalStateException(table + " changed while loading; run the generator against an idle database");
+        }
+        return ids.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private void copyRows(CopyManager copy, String table, String columns, int rows, RowSource source) throws SQLException, IOException {
+        String sql = "COPY " + table + " (" + columns + ") FROM STDIN WITH (FORMAT csv)";
+        StringBuilder batch = new StringBuilder();
+        for (int i = 0; i < rows; i++) {
+            batch.append(source.row(i));
+            if ((i + 1) % batchSize == 0 || i == rows - 1) {
+                copy.copyIn(sql, new StringReader(batch.toString()));
+                batch.setLength(0);
+            }
+        }
+    }
+
+    private static long count(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement(); ResultSet rs = statement.executeQuery(sql)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    private static void update(Connection connection, String sql, long from) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setLong(1, from);
+            statement.executeUpdate();
+        }
+    }
+
+    private LocalDateTime pastTime() {
+        return now.minusSeconds(random.nextInt(365 * 24 * 3600));
+    }
+
+    private String sentence(int words) {
+        StringBuilder sentence = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                sentence.append(' ');
+            }
+            sentence.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return sentence.toString();
+    }
+
+    private String paragraph() {
+        return sentence(40 + random.nextInt(200));
+    }
+
+    // One CSV line; nulls become empty unquoted fields, which COPY reads as NULL
+    private static String csv(Object... values) {
+        StringBuilder line = new StringBuilder();
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                line.append(',');
+            }
+            Object value = values[i];
+            if (value instanceof String text) {
+                line.append('"').append(text.replace("\"", "\"\"")).append('"');
+            } else if (value != null) {
+                line.append(value);
+            }
+        }
+        return line.append('\n').toString();
+    }
+
+    private static void report(String what, int rows, long started) {
+        System.out.printf("%-12s %,10d rows   %,8d ms total%n", what, rows, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    @FunctionalInterface
+    private interface RowSource {
+        String row(int index);
+    }
+
+    private final class UserRows implements RowSource {
+        private final int first;
+        private final String passwordHash = new BCryptPasswordEncoder().encode(PASSWORD); // Hashed once, shared by all
+
+        private UserRows(int first) {
+            this.first = first;
+        }
+
+        @Override
+        public String row(int index) {
+            String username = USERNAME_PREFIX + (first + index);
+            int roleMask = random.nextDouble() < adminRatio ? 3 : 1; // USER, or USER and ADMIN
+            return csv(username, passwordHash, username + "@loadtest.example.com", sentence(10), roleMask, true, pastTime());
+        }
+    }
+}
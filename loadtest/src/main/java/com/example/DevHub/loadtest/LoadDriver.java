@@ -0,0 +1,370 @@
+package com.example.DevHub.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Replays a mixed workload against the REST API of a running DevHub and reports throughput and latency.
+ * Each worker is a virtual thread issuing one request at a time. Without --rate the workers run closed-loop,
+ * as fast as responses come back. With --rate=N requests per second they follow a fixed schedule, and latency is
+ * measured from each request's scheduled start, so a stalled server shows up in the percentiles instead of
+ * hiding behind fewer requests (coordinated omission).
+ * Reads pick content with the skew of the generated data; the IDs, ordered hottest first, are read from the
+ * database at start. Writes go through the API like real users, logged in as generated users.
+ * Options: --base-url, --threads, --duration-s, --warmup-s, --rate, --logins, --out, and per operation
+ * weights such as --mix.get-post=25 (see {@link Operation} for the defaults).
+ * Results: a summary table, per-interval progress lines, and one .hgrm percentile file per operation in --out.
+ */
+final class LoadDriver {
+
+    enum Operation {
+        LIST_POSTS("list-posts", 25),
+        GET_POST("get-post", 25),
+        POSTS_BY_TAG("posts-by-tag", 5),
+        LIST_PROJECTS("list-projects", 10),
+        GET_PROJECT("get-project", 10),
+        LIST_COMMENTS("list-comments", 15),
+        CREATE_COMMENT("create-comment", 5),
+        CREATE_POST("create-post", 1),
+        LOGIN("login", 3),
+        REGISTER("register", 1);
+
+        private final String option;
+        private final int defaultWeight;
+
+        Operation(String option, int defaultWeight) {
+            this.option = option;
+            this.defaultWeight = defaultWeight;
+        }
+    }
+
+    private static final String[] TAGS = {"java", "spring", "postgres", "performance", "testing", "security"};
+    // Latencies are recorded in microseconds, up to a minute
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final LoadTest.Options options;
+    private final String baseUrl;
+    private final int threads;
+    private final long durationNanos;
+    private final long warmupNanos;
+    private final double rate;
+    private final Path out;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+    private final Map<Operation, Recorder> recorders = new EnumMap<>(Operation.class);
+    private final Map<Operation, Histogram> totals = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+    private final AtomicLong registrations = new AtomicLong();
+    private final String runId = Long.toString(System.currentTimeMillis(), 36);
+    private long[] postIds;
+    private long[] projectIds;
+    private Zipf hotPosts;
+    private Zipf hotProjects;
+    private List<String> tokens;
+    private int generatedUsers;
+
+    LoadDriver(LoadTest.Options options) {
+        this.options = options;
+        this.baseUrl = options.get("base-url", "http://localhost:8080");
+        this.threads = options.getInt("threads", 64);
+        this.durationNanos = TimeUnit.SECONDS.toNanos(options.getLong("duration-s", 60));
+        this.warmupNanos = TimeUnit.SECONDS.toNanos(options.getLong("warmup-s", 10));
+        this.rate = options.getDouble("rate", 0);
+        this.out = Path.of(options.get("out", "loadtest-results"));
+        List<Operation> selected = new ArrayList<>();
+        List<Integer> weights = new ArrayList<>();
+        int total = 0;
+        for (Operation operation : Operation.values()) {
+            int weight = options.getInt("mix." + operation.option, operation.defaultWeight);
+            if (weight > 0) {
+                total += weight;
+                selected.add(operation);
+                weights.add(total);
+            }
+            recorders.put(operation, new Recorder(MAX_LATENCY_MICROS, 3));
+            totals.put(operation, new Histogram(MAX_LATENCY_MICROS, 3));
+            errors.put(operation, new LongAdder());
+        }
+        if (selected.isEmpty()) {
+            throw new IllegalArgumentException("The mix has no operation with a positive weight");
+        }
+        this.operations = selected.toArray(Operation[]::new);
+        this.cumulativeWeights = weights.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    void run() throws Exception {
+        loadTargets();
+        tokens = login(options.getInt("logins", 50));
+        System.out.printf("%d workers against %s for %d s after %d s warm-up, %s%n", threads, baseUrl,
+                TimeUnit.NANOSECONDS.toSeconds(durationNanos), TimeUnit.NANOSECONDS.toSeconds(warmupNanos),
+                rate > 0 ? String.format("%.0f requests/s", rate) : "closed loop");
+
+        long start = System.nanoTime();
+        long measureFrom = start + warmupNanos;
+        long end = measureFrom + durationNanos;
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int worker = 0; worker < threads; worker++) {
+                int offset = worker;
+                workers.execute(() -> work(offset, start, measureFrom, end));
+            }
+            report(start, measureFrom, end);
+        }
+        summarize();
+    }
+
+    private void work(int worker, long start, long measureFrom, long end) {
+        Random random = ThreadLocalRandom.current();
+        long interval = rate > 0 ? (long) (TimeUnit.SECONDS.toNanos(1) * threads / rate) : 0;
+        long scheduled = start + (rate > 0 ? interval * worker / threads : 0); // Spread the workers over one interval
+        while (true) {
+            long now = System.nanoTime();
+            if (rate > 0) {
+                if (scheduled > now) {
+                    sleepNanos(scheduled - now);
+                }
+            } else {
+                scheduled = now;
+            }
+            if (scheduled >= end) {
+                return;
+            }
+            Operation operation = pick(random);
+            boolean ok;
+            try {
+                ok = execute(operation, random);
+            } catch (IOException e) {
+                ok = false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            long finished = System.nanoTime();
+            if (scheduled >= measureFrom) {
+                recorders.get(operation).recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(finished - scheduled), MAX_LATENCY_MICROS));
+                if (!ok) {
+                    errors.get(operation).increment();
+                }
+            }
+            scheduled += interval;
+        }
+    }
+
+    private Operation pick(Random random) {
+        int ticket = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (ticket < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    /**
+     * Sends one request of the operation.
+     * @return Whether the response was a success
+     */
+    private boolean execute(Operation operation, Random random) throws IOException, InterruptedException {
+        String token = tokens.get(random.nextInt(tokens.size()));
+        return switch (operation) {
+            case LIST_POSTS -> get("/api/blog-posts?page=" + page(random) + "&size=20", token);
+            case GET_POST -> get("/api/blog-posts/" + postIds[hotPosts.next(random)], token);
+            case POSTS_BY_TAG -> get("/api/blog-posts/tags/" + TAGS[random.nextInt(TAGS.length)] + "/posts?page=" + page(random), token);
+            case LIST_PROJECTS -> get("/api/projects?page=" + page(random) + "&size=20", token);
+            case GET_PROJECT -> get("/api/projects/" + projectIds[hotProjects.next(random)], token);
+            case LIST_COMMENTS -> get("/api/comments?blogPostId=" + postIds[hotPosts.next(random)] + "&page=0&size=20", token);
+            case CREATE_COMMENT -> post("/api/comments/blog/" + postIds[hotPosts.next(random)],
+                    Map.of("content", "Load test comment " + random.nextInt(1_000_000)), token) != null;
+            case CREATE_POST -> post("/api/blog-posts", Map.of("title", "Load test post " + random.nextInt(1_000_000),
+                    "content", "Written by the load driver to exercise the write path.",
+                    "tags", List.of(TAGS[random.nextInt(TAGS.length)], "loadtest")), token) != null;
+            case LOGIN -> post("/api/auth/login", Map.of("username", DataGenerator.USERNAME_PREFIX + random.nextInt(generatedUsers),
+                    "password", DataGenerator.PASSWORD), null) != null;
+            case REGISTER -> {
+                String username = "lt_reg_" + runId + "_" + registrations.incrementAndGet();
+                yield post("/api/auth/register", Map.of("username", username, "email", username + "@loadtest.example.com",
+                        "password", DataGenerator.PASSWORD), null) != null;
+            }
+        };
+    }
+
+    // Mostly the first pages, like people browsing
+    private static int page(Random random) {
+        return random.nextDouble() < 0.8 ? 0 : random.nextInt(1, 20);
+    }
+
+    private boolean get(String path, String token) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+        return isSuccess(client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode());
+    }
+
+    /**
+     * @return The response body of a successful request, null otherwise
+     */
+    private String post(String path, Object body, String token) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofSeconds(30))
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)));
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        HttpResponse<String> response = client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        return isSuccess(response.statusCode()) ? response.body() : null;
+    }
+
+    private static boolean isSuccess(int status) {
+        return status >= 200 && status < 300;
+    }
+
+    // Hottest first, so the Zipf ranks line up with the generated popularity
+    private void loadTargets() throws SQLException {
+        try (Connection connection = DriverManager.getConnection(options.jdbcUrl(), options.dbUser(), options.dbPassword());
+             Statement statement = connection.createStatement()) {
+            postIds = ids(statement, "SELECT id FROM blog_posts ORDER BY views DESC, id LIMIT 100000");
+            projectIds = ids(statement, "SELECT id FROM projects ORDER BY views DESC, id LIMIT 100000");
+            try (ResultSet rs = statement.executeQuery("SELECT COUNT(*) FROM users WHERE username LIKE '"
+                    + DataGenerator.USERNAME_PREFIX + "%'")) {
+                rs.next();
+                generatedUsers = rs.getInt(1);
+            }
+        }
+        if (postIds.length == 0 || projectIds.length == 0 || generatedUsers == 0) {
+            throw new IllegalStateException("No generated data found; run the generate command first");
+        }
+        hotPosts = new Zipf(postIds.length, 1.0);
+        hotProjects = new Zipf(projectIds.length, 1.0);
+    }
+
+    private static long[] ids(Statement statement, String sql) throws SQLException {
+        List<Long> ids = new ArrayList<>();
+        try (ResultSet rs = statement.executeQuery(sql)) {
+            while (rs.next()) {
+                ids.add(rs.getLong(1));
+            }
+        }
+        return ids.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    // Logs in once per session up front; logins during the run are measured as their own operation
+    private List<String> login(int sessions) throws IOException, InterruptedException {
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < Math.min(sessions, generatedUsers); i++) {
+            String body = post("/api/auth/login", Map.of("username", DataGenerator.USERNAME_PREFIX + i,
+                    "password", DataGenerator.PASSWORD), null);
+            if (body == null) {
+                throw new IllegalStateException("Login failed for " + DataGenerator.USERNAME_PREFIX + i);
+            }
+            tokens.add(objectMapper.readTree(body).get("token").asText());
+        }
+        return tokens;
+    }
+
+    // Prints one line per interval until the run ends, folding the interval histograms into the totals
+    private void report(long start, long measureFrom, long end) throws InterruptedException {
+        long intervalNanos = TimeUnit.SECONDS.toNanos(options.getLong("report-s", 10));
+        long next = start + intervalNanos;
+        long lastReport = start;
+        while (lastReport < end) {
+            sleepNanos(Math.max(0, Math.min(next, end) - System.nanoTime()));
+            long now = System.nanoTime();
+            Histogram interval = new Histogram(MAX_LATENCY_MICROS, 3);
+            long intervalErrors = 0;
+            for (Operation operation : Operation.values()) {
+                Histogram histogram = recorders.get(operation).getIntervalHistogram();
+                totals.get(operation).add(histogram);
+                interval.add(histogram);
+            }
+            for (LongAdder adder : errors.values()) {
+                intervalErrors += adder.sum();
+            }
+            if (now <= measureFrom) {
+                System.out.printf("%5d s  warming up%n", TimeUnit.NANOSECONDS.toSeconds(now - start));
+            } else {
+                double seconds = (now - Math.max(lastReport, measureFrom)) / 1e9;
+                System.out.printf("%5d s  %,9.0f requests/s  p50 %7.2f ms  p99 %7.2f ms  max %8.2f ms  errors so far %d%n",
+                        TimeUnit.NANOSECONDS.toSeconds(now - start), interval.getTotalCount() / seconds,
+                        interval.getValueAtPercentile(50) / 1000.0, interval.getValueAtPercentile(99) / 1000.0,
+                        interval.getMaxValue() / 1000.0, intervalErrors);
+            }
+            lastReport = now;
+            next += intervalNanos;
+        }
+    }
+
+    private void summarize() throws IOException {
+        // Requests still in flight at the end are recorded after the last report
+        for (Operation operation : Operation.values()) {
+            totals.get(operation).add(recorders.get(operation).getIntervalHistogram());
+        }
+        Files.createDirectories(out);
+        double seconds = durationNanos / 1e9;
+        Histogram all = new Histogram(MAX_LATENCY_MICROS, 3);
+        System.out.printf("%n%-16s %10s %10s %8s %9s %9s %9s %9s %9s%n", "operation", "requests", "req/s", "errors",
+                "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Operation operation : operations) {
+            Histogram histogram = totals.get(operation);
+            all.add(histogram);
+            printRow(operation.option, histogram, errors.get(operation).sum(), seconds);
+            try (PrintStream file = new PrintStream(Files.newOutputStream(out.resolve(operation.option + ".hgrm")))) {
+                histogram.outputPercentileDistribution(file, 1000.0); // In milliseconds
+            }
+        }
+        long allErrors = errors.values().stream().mapToLong(LongAdder::sum).sum();
+        printRow("total", all, allErrors, seconds);
+        try (PrintStream file = new PrintStream(Files.newOutputStream(out.resolve("total.hgrm")))) {
+            all.outputPercentileDistribution(file, 1000.0);
+        }
+        System.out.printf("Percentile distributions written to %s%n", out.toAbsolutePath());
+    }
+
+    private static void printRow(String name, Histogram histogram, long errors, double seconds) {
+        System.out.printf("%-16s %10d %10.1f %8d %9.2f %9.2f %9.2f %9.2f %9.2f%n", name, histogram.getTotalCount(),
+                histogram.getTotalCount() / seconds, errors, histogram.getValueAtPercentile(50) / 1000.0,
+                histogram.getValueAtPercentile(90) / 1000.0, histogram.getValueAtPercentile(99) / 1000.0,
+                histogram.getValueAtPercentile(99.9) / 1000.0, histogram.getMaxValue() / 1000.0);
+    }
+
+    private static void sleepNanos(long nanos) {
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.DevHub.loadtest;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Entry point of the load test, run on the same Linux box as DevHub and its Postgres database:
+ * <pre>
+ *   java -jar loadtest/target/DevHub-loadtest-0.0.1-SNAPSHOT.jar generate --users=10000 --posts=50000
+ *   java -jar loadtest/target/DevHub-loadtest-0.0.1-SNAPSHOT.jar run --threads=64 --duration-s=120
+ * </pre>
+ * {@code generate} bulk-loads a skewed synthetic dataset (see {@link DataGenerator}), {@code run} replays a mixed
+ * workload against the REST API and reports throughput and latency histograms (see {@link LoadDriver}).
+ * Options are given as --name=value; both commands accept --jdbc-url, --db-user and --db-password.
+ */
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0 || !(args[0].equals("generate") || args[0].equals("run"))) {
+            System.err.println("Usage: generate|run [--name=value ...]");
+            System.exit(2);
+        }
+        Options options = Options.parse(args);
+        if (args[0].equals("generate")) {
+            new DataGenerator(options).generate();
+        } else {
+            new LoadDriver(options).run();
+        }
+    }
+
+    /**
+     * Command line options with defaults matching a local DevHub.
+     */
+    static final class Options {
+        private final Map<String, String> values;
+
+        private Options(Map<String, String> values) {
+            this.values = values;
+        }
+
+        static Options parse(String[] args) {
+            Map<String, String> values = new HashMap<>();
+            for (int i = 1; i < args.length; i++) {
+                String arg = args[i];
+                int equals = arg.indexOf('=');
+                if (!arg.startsWith("--") || equals < 0) {
+                    throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+                }
+                values.put(arg.substring(2, equals), arg.substring(equals + 1));
+            }
+            return new Options(values);
+        }
+
+        String get(String name, String defaultValue) {
+            return values.getOrDefault(name, defaultValue);
+        }
+
+        int getInt(String name, int defaultValue) {
+            return values.containsKey(name) ? Integer.parseInt(values.get(name)) : defaultValue;
+        }
+
+        long getLong(String name, long defaultValue) {
+            return values.containsKey(name) ? Long.parseLong(values.get(name)) : defaultValue;
+        }
+
+        double getDouble(String name, double defaultValue) {
+            return values.containsKey(name) ? Double.parseDouble(values.get(name)) : defaultValue;
+        }
+
+        String jdbcUrl() {
+            return get("jdbc-url", "jdbc:postgresql://localhost:5432/devdb");
+        }
+
+        String dbUser() {
+            return get("db-user", "postgres");
+        }
+
+        String dbPassword() {
+            return get("db-password", "123");
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.DevHub.loadtest;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Samples ranks 0..n-1 with probability proportional to 1 / (rank + 1)^s, so rank 0 is the most popular.
+ * s = 0 is uniform; around 1 a handful of ranks get most of the draws, like authors and posts in practice.
+ */
+final class Zipf {
+
+    private final double[] cdf;
+
+    Zipf(int n, double s) {
+        if (n <= 0) {
+            throw new IllegalArgumentException("Zipf needs at least one rank");
+        }
+        cdf = new double[n];
+        double sum = 0;
+        for (int rank = 0; rank < n; rank++) {
+            sum += 1 / Math.pow(rank + 1, s);
+            cdf[rank] = sum;
+        }
+        for (int rank = 0; rank < n; rank++) {
+            cdf[rank] /= sum;
+        }
+    }
+
+    int next(Random random) {
+        int index = Arrays.binarySearch(cdf, random.nextDouble());
+        return Math.min(index >= 0 ? index : -index - 1, cdf.length - 1);
+    }
+}
@@ -0,0 +1,61 @@
+#!/usr/bin/env bash
+# Time-to-first-request of DevHub: from launching the JVM until /actuator/health first answers 200.
+# Compares the plain jar with the production build (Spring AOT + JVM AOT cache). Build first with
+#   ./mvnw -Pproduction package
+# and have the database from application.properties running. Usage:
+#   scripts/startup-benchmark.sh [runs]        (default 5 runs per mode, the median is reported)
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+RUNS="${1:-5}"
+PORT="${PORT:-8080}"
+JAR="target/DevHub-0.0.1-SNAPSHOT.jar"
+AOT_DIR="target/aot"
+URL="http://localhost:${PORT}/actuator/health"
+
+for required in "$JAR" "$AOT_DIR/DevHub-0.0.1-SNAPSHOT.jar" "$AOT_DIR/app.aot"; do
+  if [[ ! -f "$required" ]]; then
+    echo "Missing $required; run ./mvnw -Pproduction package first" >&2
+    exit 1
+  fi
+done
+
+now_ms() {
+  echo $(( $(date +%s%N) / 1000000 ))
+}
+
+# Starts the app once and prints the milliseconds until the first successful request
+time_to_first_request() {
+  local start pid
+  start=$(now_ms)
+  "$@" --server.port="$PORT" > target/startup-benchmark.log 2>&1 &
+  pid=$!
+  until curl -sf -o /dev/null "$URL"; do
+    if ! kill -0 "$pid" 2> /dev/null; then
+      echo "The app exited before answering; see target/startup-benchmark.log" >&2
+      exit 1
+    fi
+    sleep 0.02
+  done
+  echo $(( $(now_ms) - start ))
+  kill "$pid"
+  wait "$pid" 2> /dev/null || true
+}
+
+# Prints the median of several runs of one mode
+measure() {
+  local label="$1" times=()
+  shift
+  for ((run = 1; run <= RUNS; run++)); do
+    times+=("$(time_to_first_request "$@")")
+  done
+  local sorted
+  sorted=$(printf '%s\n' "${times[@]}" | sort -n)
+  printf '%-32s median %6d ms   runs: %s\n' "$label" "$(sed -n "$(( (RUNS + 1) / 2 ))p" <<< "$sorted")" "$(tr '\n' ' ' <<< "$sorted")"
+}
+
+echo "Time to first request, $RUNS runs each"
+measure "before: java -jar" java -jar "$JAR"
+# From the directory the cache was trained in: the JVM only uses the cache with the same class path
+measure "after: Spring AOT + AOT cache" env -C "$AOT_DIR" java -XX:AOTCache=app.aot -Dspring.aot.enabled=true \
+  -jar DevHub-0.0.1-SNAPSHOT.jar
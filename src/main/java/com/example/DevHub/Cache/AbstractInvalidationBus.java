@@ -0,0 +1,79 @@
+package com.example.DevHub.Cache;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Delivers invalidations and messages to the local listeners after commit and hands them to {@link #broadcast}
+ * and {@link #broadcastMessage}.
+ */
+public abstract class AbstractInvalidationBus implements CacheInvalidationBus {
+
+    // Resolved lazily so listeners may publish through the bus themselves
+    private final ObjectProvider<InvalidationListener> listeners;
+    private final ObjectProvider<BusMessageListener> messageListeners;
+
+    protected AbstractInvalidationBus(ObjectProvider<InvalidationListener> listeners,
+                                      ObjectProvider<BusMessageListener> messageListeners) {
+        this.listeners = listeners;
+        this.messageListeners = messageListeners;
+    }
+
+    @Override
+    public void publish(EntityType type, Long id) {
+        afterCommit(() -> {
+            deliver(type, id);
+            broadcast(type, id);
+        });
+    }
+
+    @Override
+    public void send(String topic, String message) {
+        if (message.getBytes(StandardCharsets.UTF_8).length > MAX_MESSAGE_BYTES) {
+            throw new IllegalArgumentException("Bus message exceeds " + MAX_MESSAGE_BYTES + " bytes");
+        }
+        afterCommit(() -> {
+            deliverMessage(topic, message);
+            broadcastMessage(topic, message);
+        });
+    }
+
+    /**
+     * Sends a local invalidation to the other nodes.
+     */
+    protected abstract void broadcast(EntityType type, Long id);
+
+    /**
+     * Sends a message to the other nodes.
+     */
+    protected abstract void broadcastMessage(String topic, String message);
+
+    protected void deliver(EntityType type, Long id) {
+        listeners.orderedStream().forEach(listener -> listener.onInvalidation(type, id));
+    }
+
+    protected void deliverMessage(String topic, String message) {
+        messageListeners.orderedStream().forEach(listener -> listener.onMessage(topic, message));
+    }
+
+    protected void flushAll() {
+        listeners.orderedStream().forEach(InvalidationListener::onFullFlush);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // Peers must not reload before the write is visible to them
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.DevHub.Cache;
+
+/**
+ * Implemented by components that fan out messages sent through {@link CacheInvalidationBus#send} on any node.
+ */
+public interface BusMessageListener {
+
+    /**
+     * Called on every node, the sending one included, for every message sent through the bus.
+     * Peers' messages arrive on the bus thread in the order they were sent, so this must not block for long.
+     * @param topic The topic the message was sent to; listeners ignore the ones they do not own
+     * @param message The message
+     */
+    void onMessage(String topic, String message);
+}
@@ -0,0 +1,28 @@
+package com.example.DevHub.Cache;
+
+/**
+ * Broadcasts entity invalidations to the local caches and to every other DevHub instance.
+ * It also carries small messages for components that have to reach every node, like the comment streams.
+ */
+public interface CacheInvalidationBus {
+
+    // NOTIFY payloads must stay under 8000 bytes; this leaves room for the node ID and the topic
+    int MAX_MESSAGE_BYTES = 7000;
+
+    /**
+     * Publishes an invalidation. Inside a transaction it is delivered only after commit.
+     * @param type The type of the entity that changed
+     * @param id The ID of the entity, or null if every entity of the type may have changed
+     */
+    void publish(EntityType type, Long id);
+
+    /**
+     * Sends a message to the {@link BusMessageListener}s of every node, this one included. Inside a transaction
+     * it is sent only after commit. Unlike invalidations, a message cannot be made up for by a flush: a node that
+     * is disconnected, or a sender whose outbox overflows, loses it.
+     * @param topic The topic, without '|'
+     * @param message The message, at most {@link #MAX_MESSAGE_BYTES} bytes in UTF-8
+     * @throws IllegalArgumentException if the message is too large
+     */
+    void send(String topic, String message);
+}
@@ -0,0 +1,10 @@
+package com.example.DevHub.Cache;
+
+/**
+ * Groups of cached list responses that are invalidated together.
+ * Every write to an entity type bumps the generation of its region.
+ */
+public enum CacheRegion {
+    BLOG_POSTS,
+    PROJECTS
+}
@@ -0,0 +1,13 @@
+package com.example.DevHub.Cache;
+
+/**
+ * Entity types that can be invalidated through the {@link CacheInvalidationBus}.
+ */
+public enum EntityType {
+    USER,
+    BLOG_POST,
+    PROJECT,
+    COMMENT,
+    ACTIVITY, // New activity events; the ID is the smallest event ID of the persisted batch
+    USER_ACTIVITY // Activity events by or about a user were deleted; the ID is the user's
+}
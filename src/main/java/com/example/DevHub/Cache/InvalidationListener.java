@@ -0,0 +1,19 @@
+package com.example.DevHub.Cache;
+
+/**
+ * Implemented by in-process caches that must drop entries when an entity changes on any node.
+ */
+public interface InvalidationListener {
+
+    /**
+     * Called when an entity was written locally or on a peer.
+     * @param type The type of the entity that changed
+     * @param id The ID of the entity, or null if every entity of the type may have changed
+     */
+    void onInvalidation(EntityType type, Long id);
+
+    /**
+     * Called when invalidations may have been missed, e.g. after the bus reconnected.
+     */
+    void onFullFlush();
+}
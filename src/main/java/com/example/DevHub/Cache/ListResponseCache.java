@@ -0,0 +1,149 @@
+package com.example.DevHub.Cache;
+
+import com.example.DevHub.Json.WireFormat;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Caches the encoded bytes of list responses so repeated GETs skip both the query and Jackson.
+ * Each wire format is a separate entry, encoded with the same mapper its HTTP message converter uses.
+ * Entries are tagged with the generation of their region; a write bumps the generation and every
+ * older entry is rebuilt lazily on its next read. Concurrent misses for the same key share one rebuild.
+ * Generations are bumped through the {@link CacheInvalidationBus}, so writes on other nodes invalidate it too.
+ */
+@Component
+public class ListResponseCache implements InvalidationListener {
+
+    private final Map<WireFormat, ObjectMapper> objectMappers = new EnumMap<>(WireFormat.class);
+    private final int maxEntries;
+    private final Map<CacheRegion, AtomicLong> generations = new EnumMap<>(CacheRegion.class);
+    private final ConcurrentHashMap<Key, Entry> entries = new ConcurrentHashMap<>();
+
+    public ListResponseCache(ObjectMapper objectMapper, MappingJackson2CborHttpMessageConverter cborConverter,
+                             MappingJackson2SmileHttpMessageConverter smileConverter,
+                             @Value("${devhub.cache.list.max-entries:1000}") int maxEntries) {
+        objectMappers.put(WireFormat.JSON, objectMapper);
+        objectMappers.put(WireFormat.CBOR, cborConverter.getObjectMapper());
+        objectMappers.put(WireFormat.SMILE, smileConverter.getObjectMapper());
+        this.maxEntries = maxEntries;
+        for (CacheRegion region : CacheRegion.values()) {
+            generations.put(region, new AtomicLong());
+        }
+    }
+
+    /**
+     * Returns the cached body for a list page, building it with the loader on a miss.
+     * @param region The region the list belongs to
+     * @param filter The filter part of the key, e.g. "author:5" or "all"
+     * @param page The page number, or -1 for the unpaged list
+     * @param size The page size, or -1 for the unpaged list
+     * @param format The encoding of the body
+     * @param loader Loads the value to serialize on a miss
+     * @return The encoded response body
+     */
+    public byte[] get(CacheRegion region, String filter, int page, int size, WireFormat format, Supplier<?> loader) {
+        Key key = new Key(region, filter, page, size, format);
+        long generation = generations.get(region).get();
+        while (true) {
+            Entry current = entries.get(key);
+            if (current != null && current.generation >= generation) {
+                return await(current);
+            }
+            Entry fresh = new Entry(generation);
+            boolean claimed = current == null
+                    ? entries.putIfAbsent(key, fresh) == null
+                    : entries.replace(key, current, fresh);
+            if (!claimed) {
+                continue; // Another request started the rebuild, wait on theirs instead
+            }
+            evictIfFull();
+            try {
+                fresh.body.complete(objectMappers.get(format).writeValueAsBytes(loader.get()));
+            } catch (JsonProcessingException | RuntimeException e) {
+                entries.remove(key, fresh);
+                fresh.body.completeExceptionally(e);
+            }
+            return await(fresh);
+        }
+    }
+
+    /**
+     * Invalidates every cached page of a region.
+     * @param region The region to invalidate
+     */
+    public void invalidate(CacheRegion region) {
+        generations.get(region).incrementAndGet();
+    }
+
+    @Override
+    public void onInvalidation(EntityType type, Long id) {
+        switch (type) {
+            case BLOG_POST -> invalidate(CacheRegion.BLOG_POSTS);
+            case PROJECT -> invalidate(CacheRegion.PROJECTS);
+            default -> {
+                // Other entity types are not part of any cached list
+            }
+        }
+    }
+
+    @Override
+    public void onFullFlush() {
+        invalidateAll();
+    }
+
+    /**
+     * Drops every entry of every region.
+     */
+    public void invalidateAll() {
+        for (CacheRegion region : CacheRegion.values()) {
+            generations.get(region).incrementAndGet();
+        }
+        entries.clear();
+    }
+
+    private void evictIfFull() {
+        if (entries.size() <= maxEntries) {
+            return;
+        }
+        // Stale generations go first; if the cache is still full, start over
+        entries.entrySet().removeIf(e -> e.getValue().generation < generations.get(e.getKey().region()).get());
+        if (entries.size() > maxEntries) {
+            entries.clear();
+        }
+    }
+
+    private static byte[] await(Entry entry) {
+        try {
+            return entry.body.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Failed to serialize cached list response", e.getCause());
+        }
+    }
+
+    private record Key(CacheRegion region, String filter, int page, int size, WireFormat format) {
+    }
+
+    private static final class Entry {
+        private final long generation;
+        private final CompletableFuture<byte[]> body = new CompletableFuture<>();
+
+        private Entry(long generation) {
+            this.generation = generation;
+        }
+    }
+}
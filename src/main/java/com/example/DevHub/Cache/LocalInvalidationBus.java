@@ -0,0 +1,28 @@
+package com.example.DevHub.Cache;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Single-node bus: invalidations and messages only reach the listeners of this instance.
+ */
+@Component
+@ConditionalOnProperty(name = "devhub.cache.invalidation.mode", havingValue = "local")
+public class LocalInvalidationBus extends AbstractInvalidationBus {
+
+    public LocalInvalidationBus(ObjectProvider<InvalidationListener> listeners,
+                                ObjectProvider<BusMessageListener> messageListeners) {
+        super(listeners, messageListeners);
+    }
+
+    @Override
+    protected void broadcast(EntityType type, Long id) {
+        // Nothing to do, there are no peers
+    }
+
+    @Override
+    protected void broadcastMessage(String topic, String message) {
+        // Nothing to do, there are no peers
+    }
+}
@@ -0,0 +1,207 @@
+package com.example.DevHub.Cache;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Pattern;
+
+/**
+ * Cluster-wide bus built on PostgreSQL LISTEN/NOTIFY.
+ * A single thread owns a dedicated connection: it sends queued invalidations with pg_notify and
+ * polls for notifications from peers, so the lag between nodes is bounded by the poll interval.
+ * Notifications sent while this node was disconnected are lost, so every reconnect flushes all local caches.
+ */
+@Component
+@ConditionalOnProperty(name = "devhub.cache.invalidation.mode", havingValue = "postgres", matchIfMissing = true)
+public class PostgresInvalidationBus extends AbstractInvalidationBus {
+
+    private static final Logger logger = LoggerFactory.getLogger(PostgresInvalidationBus.class);
+    private static final String FLUSH = "FLUSH";
+    private static final String MESSAGE = "MSG";
+    // Names LISTEN and pg_notify agree on: LISTEN folds unquoted names to lower case, pg_notify takes them as given
+    private static final Pattern CHANNEL_NAME = Pattern.compile("[a-z_][a-z0-9_]{0,62}");
+
+    private final DataSourceProperties dataSourceProperties;
+    private final String channel;
+    private final int pollMillis;
+    private final long maxBackoffMillis;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final BlockingQueue<String> outbox;
+    private final AtomicBoolean outboxOverflowed = new AtomicBoolean();
+
+    private volatile boolean running;
+    private Thread worker;
+    private Connection connection;
+    private boolean connectedBefore;
+
+    public PostgresInvalidationBus(ObjectProvider<InvalidationListener> listeners,
+                                   ObjectProvider<BusMessageListener> messageListeners,
+                                   DataSourceProperties dataSourceProperties,
+                                   @Value("${devhub.cache.invalidation.channel:devhub_invalidation}") String channel,
+                                   @Value("${devhub.cache.invalidation.poll-ms:250}") int pollMillis,
+                                   @Value("${devhub.cache.invalidation.max-backoff-ms:30000}") long maxBackoffMillis,
+                                   @Value("${devhub.cache.invalidation.outbox-capacity:10000}") int outboxCapacity) {
+        super(listeners, messageListeners);
+        if (!CHANNEL_NAME.matcher(channel).matches()) {
+            throw new IllegalArgumentException("devhub.cache.invalidation.channel must be lower case letters, digits and "
+                    + "underscores, not starting with a digit: " + channel);
+        }
+        this.dataSourceProperties = dataSourceProperties;
+        this.channel = channel;
+        this.pollMillis = pollMillis;
+        this.maxBackoffMillis = maxBackoffMillis;
+        this.outbox = new ArrayBlockingQueue<>(outboxCapacity);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        worker = new Thread(this::run, "devhub-invalidation-bus");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        worker.interrupt();
+        worker.join(pollMillis * 4L);
+        closeQuietly();
+    }
+
+    @Override
+    protected void broadcast(EntityType type, Long id) {
+        String payload = nodeId + "|" + type.name() + "|" + (id != null ? id : "*");
+        if (!outbox.offer(payload)) {
+            // Peers would miss this invalidation, so tell them to flush everything instead
+            outboxOverflowed.set(true);
+        }
+    }
+
+    @Override
+    protected void broadcastMessage(String topic, String message) {
+        // Dropped on overflow like an invalidation; the flush that follows cannot bring it back
+        if (!outbox.offer(nodeId + "|" + MESSAGE + "|" + topic + "|" + message)) {
+            outboxOverflowed.set(true);
+        }
+    }
+
+    private void run() {
+        long backoff = pollMillis;
+        while (running) {
+            try {
+                if (connection == null) {
+                    connect();
+                }
+                sendPending();
+                PGNotification[] notifications = connection.unwrap(PGConnection.class).getNotifications(pollMillis);
+                if (notifications != null) {
+                    for (PGNotification notification : notifications) {
+                        apply(notification.getParameter());
+                    }
+                }
+                backoff = pollMillis;
+            } catch (SQLException e) {
+                logger.warn("Invalidation bus connection failed, retrying in {} ms: {}", backoff, e.getMessage());
+                closeQuietly();
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                backoff = Math.min(backoff * 2, maxBackoffMillis);
+            }
+        }
+    }
+
+    private void connect() throws SQLException {
+        connection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword());
+        connection.setAutoCommit(true);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("LISTEN " + channel); // Validated in the constructor
+        }
+        if (connectedBefore) {
+            // Anything published while we were away is gone for good
+            logger.info("Invalidation bus reconnected, flushing local caches");
+            flushAll();
+        }
+        connectedBefore = true;
+    }
+
+    private void sendPending() throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT pg_notify(?, ?)")) {
+            statement.setString(1, channel);
+            if (outboxOverflowed.getAndSet(false)) {
+                outbox.clear();
+                statement.setString(2, nodeId + "|" + FLUSH);
+                statement.execute();
+                return;
+            }
+            String payload;
+            // Only dequeue after a successful send so nothing is dropped across reconnects
+            while ((payload = outbox.peek()) != null) {
+                statement.setString(2, payload);
+                statement.execute();
+                outbox.poll();
+            }
+        }
+    }
+
+    private void apply(String payload) {
+        // Messages may contain '|' themselves, so only the header is split
+        String[] parts = payload.split("\\|", 4);
+        if (parts.length < 2 || parts[0].equals(nodeId)) {
+            return; // Our own notification, already delivered locally
+        }
+        if (FLUSH.equals(parts[1])) {
+            flushAll();
+            return;
+        }
+        if (MESSAGE.equals(parts[1])) {
+            if (parts.length == 4) {
+                deliverMessage(parts[2], parts[3]);
+            } else {
+                logger.warn("Ignoring malformed bus message: {}", payload);
+            }
+            return;
+        }
+        try {
+            EntityType type = EntityType.valueOf(parts[1]);
+            Long id = parts.length > 2 && !"*".equals(parts[2]) ? Long.valueOf(parts[2]) : null;
+            deliver(type, id);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Ignoring malformed invalidation payload: {}", payload);
+        }
+    }
+
+    private void closeQuietly() {
+        if (connection != null) {
+            try {
+                connection.close();
+            } catch (SQLException ignored) {
+                // Connection is being discarded anyway
+            }
+            connection = null;
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.example.DevHub.Config;
+
+import com.example.DevHub.Model.BlogPost;
+import com.example.DevHub.Model.Project;
+import com.example.DevHub.Model.Role;
+import com.example.DevHub.Model.User;
+import com.example.DevHub.Repository.UserRepository;
+import com.example.DevHub.Service.BlogPostService;
+import com.example.DevHub.Service.JwtService;
+import com.example.DevHub.Service.ProjectService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Optional warm-up before the app reports ready. Spring Boot only switches readiness to ACCEPTING_TRAFFIC once
+ * all ApplicationRunners have returned, so while this runs the readiness probe keeps traffic away and the JIT
+ * compiles the hot paths from a synthetic workload instead of from the first real requests.
+ * The workload only reads: per iteration it generates and validates a token and loads its user like
+ * JwtAuthenticationFilter, then lists and fetches blog posts and projects and serializes them with the
+ * application's ObjectMapper. Views are not counted, since the controllers do that, not the services.
+ * Enabled at runtime rather than through a condition, so AOT-processed builds can turn it on too.
+ * While it runs, the warm-up thread is marked through {@link #inProgress()}: service timers, observations (and so
+ * traces) and the JWT validation counter skip it, so dashboards only show real traffic. Actuator's own
+ * spring.data.repository.invocations timers and the Hikari pool metrics cannot be filtered per call and do
+ * include the warm-up queries.
+ */
+@Component
+public class JitWarmup implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(JitWarmup.class);
+    // Iterations averaged at the start and at the end to show the effect of compilation
+    private static final int WINDOW = 50;
+    // Set on the thread running the workload only, so requests served meanwhile are still measured
+    private static final ThreadLocal<Boolean> RUNNING = ThreadLocal.withInitial(() -> false);
+
+    private final boolean enabled;
+    private final int iterations;
+    private final long budgetMillis;
+    private final int pageSize;
+    private final JwtService jwtService;
+    private final UserDetailsService userDetailsService;
+    private final UserRepository userRepository;
+    private final BlogPostService blogPostService;
+    private final ProjectService projectService;
+    private final ObjectMapper objectMapper;
+    private volatile long durationMillis;
+    private volatile long completedIterations;
+    private volatile double firstLatencyMicros;
+    private volatile double lastLatencyMicros;
+
+    public JitWarmup(@Value("${devhub.warmup.enabled:false}") boolean enabled,
+                     @Value("${devhub.warmup.iterations:2000}") int iterations,
+                     @Value("${devhub.warmup.budget-ms:30000}") long budgetMillis,
+                     @Value("${devhub.warmup.page-size:20}") int pageSize,
+                     JwtService jwtService,
+                     UserDetailsService userDetailsService,
+                     UserRepository userRepository,
+                     BlogPostService blogPostService,
+                     ProjectService projectService,
+                     ObjectMapper objectMapper,
+                     MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.iterations = iterations;
+        this.budgetMillis = budgetMillis;
+        this.pageSize = pageSize;
+        this.jwtService = jwtService;
+        this.userDetailsService = userDetailsService;
+        this.userRepository = userRepository;
+        this.blogPostService = blogPostService;
+        this.projectService = projectService;
+        this.objectMapper = objectMapper;
+        Gauge.builder("devhub.warmup.duration", this, warmup -> warmup.durationMillis)
+                .description("Time the warm-up delayed readiness").baseUnit("milliseconds").register(meterRegistry);
+        Gauge.builder("devhub.warmup.iterations", this, warmup -> warmup.completedIterations)
+                .description("Warm-up iterations run before the budget or the iteration count ran out").register(meterRegistry);
+        Gauge.builder("devhub.warmup.latency", this, warmup -> warmup.firstLatencyMicros).tag("window", "first")
+                .description("Mean latency of the first warm-up iterations").baseUnit("microseconds").register(meterRegistry);
+        Gauge.builder("devhub.warmup.latency", this, warmup -> warmup.lastLatencyMicros).tag("window", "last")
+                .description("Mean latency of the last warm-up iterations").baseUnit("microseconds").register(meterRegistry);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+        long started = System.nanoTime();
+        long deadline = started + TimeUnit.MILLISECONDS.toNanos(budgetMillis);
+        RUNNING.set(true);
+        try {
+            Workload workload = prepare();
+            long[] latencies = new long[iterations];
+            int done = 0;
+            while (done < iterations && System.nanoTime() < deadline) {
+                long iterationStarted = System.nanoTime();
+                workload.run(done);
+                latencies[done++] = System.nanoTime() - iterationStarted;
+            }
+            completedIterations = done;
+            int window = Math.min(WINDOW, done / 2);
+            if (window > 0) {
+                firstLatencyMicros = meanMicros(latencies, 0, window);
+                lastLatencyMicros = meanMicros(latencies, done - window, done);
+            }
+        } catch (RuntimeException | JsonProcessingException e) {
+            // A failed warm-up only costs the speed-up; the app still has to come up
+            logger.warn("Warm-up failed, starting cold: {}", e.getMessage());
+        } finally {
+            RUNNING.remove();
+        }
+        durationMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+        logger.info("Warm-up ran {} iterations in {} ms; mean latency {} us at the start, {} us at the end",
+                completedIterations, durationMillis, Math.round(firstLatencyMicros), Math.round(lastLatencyMicros));
+    }
+
+    /**
+     * @return Whether the current thread is running the warm-up workload, whose calls are not to be measured
+     */
+    public static boolean inProgress() {
+        return RUNNING.get();
+    }
+
+    private Workload prepare() {
+        User user = userRepository.findAll(PageRequest.of(0, 1, Sort.by("id"))).stream().findFirst().orElse(null);
+        boolean stored = user != null;
+        if (!stored) {
+            // Empty database: tokens still get exercised, only the user lookup is skipped
+            user = new User();
+            user.setId(0L);
+            user.setUsername("warmup");
+            user.setRoleMask(Role.USER.bit());
+        }
+        PageRequest page = PageRequest.of(0, pageSize, Sort.by("id"));
+        List<Long> postIds = blogPostService.getAllBlogPosts(page).stream().map(BlogPost::getId).toList();
+        List<Long> projectIds = projectService.getAllProjects(page).stream().map(Project::getId).toList();
+        return new Workload(user, stored, page, postIds, projectIds);
+    }
+
+    private static double meanMicros(long[] latencies, int from, int to) {
+        long sum = 0;
+        for (int i = from; i < to; i++) {
+            sum += latencies[i];
+        }
+        return sum / 1000.0 / (to - from);
+    }
+
+    private final class Workload {
+        private final User user;
+        private final boolean stored;
+        private final PageRequest page;
+        private final List<Long> postIds;
+        private final List<Long> projectIds;
+
+        private Workload(User user, boolean stored, PageRequest page, List<Long> postIds, List<Long> projectIds) {
+            this.user = user;
+            this.stored = stored;
+            this.page = page;
+            this.postIds = postIds;
+            this.projectIds = projectIds;
+        }
+
+        void run(int iteration) throws JsonProcessingException {
+            String token = jwtService.generateToken(user);
+            jwtService.validateToken(token);
+            String username = jwtService.getUsernameFromToken(token);
+            if (stored) {
+                userDetailsService.loadUserByUsername(username);
+            }
+            objectMapper.writeValueAsBytes(blogPostService.getAllBlogPosts(page));
+            objectMapper.writeValueAsBytes(projectService.getAllProjects(page));
+            if (!postIds.isEmpty()) {
+                BlogPost post = blogPostService.getBlogPostById(postIds.get(iteration % postIds.size())).orElse(null);
+                objectMapper.writeValueAsBytes(post);
+            }
+            if (!projectIds.isEmpty()) {
+                Project project = projectService.getProjectById(projectIds.get(iteration % projectIds.size())).orElse(null);
+                objectMapper.writeValueAsBytes(project);
+            }
+        }
+    }
+}
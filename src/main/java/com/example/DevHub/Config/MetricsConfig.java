@@ -0,0 +1,32 @@
+package com.example.DevHub.Config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.ObservationPredicate;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.function.Predicate;
+
+/**
+ * Metrics wiring. Controller endpoints (http.server.requests), repository queries
+ * (spring.data.repository.invocations) and the Hikari pool (hikaricp.*) are timed by
+ * Spring Boot Actuator; service methods are timed through {@code @Timed} on the service classes.
+ * Calls made by {@link JitWarmup} are neither timed nor observed.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        Predicate<ProceedingJoinPoint> skip = joinPoint -> JitWarmup.inProgress();
+        return new TimedAspect(registry, skip);
+    }
+
+    // Applied by Spring Boot to the ObservationRegistry; a rejected observation is a no-op and starts no span
+    @Bean
+    public ObservationPredicate warmupObservations() {
+        return (name, context) -> !JitWarmup.inProgress();
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.DevHub.Config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Replaces the auto-configured DataSource with one that routes read-only transactions to read replicas.
+ * Active only when devhub.datasource.routing-enabled=true; otherwise Spring Boot's single pool is used as before.
+ * Every pool gets the spring.datasource.hikari.* settings, as Spring Boot's own pool would; replica pools then
+ * get their fail-fast defaults, and devhub.datasource.replica-hikari.* overrides anything for the replicas only.
+ */
+@Configuration
+@EnableConfigurationProperties(ReplicaProperties.class)
+@ConditionalOnProperty(name = "devhub.datasource.routing-enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    @Bean
+    @Primary
+    public DataSource dataSource(DataSourceProperties dataSourceProperties,
+                                 ReplicaProperties replicaProperties,
+                                 MeterRegistry meterRegistry,
+                                 Environment environment) {
+        Binder binder = Binder.get(environment);
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        primary.setPoolName("devhub-primary");
+
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        List<ReplicaProperties.Replica> configured = replicaProperties.getReplicas();
+        for (int i = 0; i < configured.size(); i++) {
+            ReplicaProperties.Replica replica = configured.get(i);
+            HikariDataSource pool = new HikariDataSource();
+            binder.bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+            pool.setPoolName("devhub-replica-" + i);
+            pool.setJdbcUrl(replica.getUrl());
+            pool.setUsername(replica.getUsername() != null ? replica.getUsername() : dataSourceProperties.determineUsername());
+            pool.setPassword(replica.getPassword() != null ? replica.getPassword() : dataSourceProperties.determinePassword());
+            pool.setReadOnly(true);
+            pool.setMaximumPoolSize(replicaProperties.getReplicaPoolSize());
+            // A dead replica must fail fast so the health check and requests fall back to the primary quickly
+            pool.setConnectionTimeout(2000);
+            pool.setInitializationFailTimeout(-1);
+            binder.bind("devhub.datasource.replica-hikari", Bindable.ofInstance(pool));
+            replicas.put("replica-" + i, pool);
+        }
+
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, replicas,
+                replicaProperties.getMaxLagMs(), replicaProperties.getReadYourWritesMs());
+        routing.afterPropertiesSet();
+        routing.startHealthChecks(replicaProperties.getHealthCheckMs());
+        for (String key : routing.getReplicaKeys()) {
+            Gauge.builder("devhub.datasource.replica.lag", routing, r -> r.getLagMillis(key))
+                    .description("Replay lag of a read replica in milliseconds, -1 while it is not used")
+                    .tag("replica", key)
+                    .register(meterRegistry);
+        }
+        // Defers fetching the physical connection until the first statement, when the read-only flag is known
+        return new RoutingDataSourceProxy(routing);
+    }
+
+    /**
+     * Closes the routing pools and stops the health checks when the context shuts down.
+     */
+    static class RoutingDataSourceProxy extends LazyConnectionDataSourceProxy implements Closeable {
+
+        private final ReplicaRoutingDataSource routing;
+
+        RoutingDataSourceProxy(ReplicaRoutingDataSource routing) {
+            super(routing);
+            this.routing = routing;
+        }
+
+        @Override
+        public void close() {
+            routing.close();
+        }
+    }
+}
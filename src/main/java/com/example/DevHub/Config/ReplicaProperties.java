@@ -0,0 +1,98 @@
+package com.example.DevHub.Config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read replica settings under devhub.datasource. Replicas are only used when routing is enabled.
+ */
+@ConfigurationProperties(prefix = "devhub.datasource")
+public class ReplicaProperties {
+
+    private boolean routingEnabled = false;
+    private List<Replica> replicas = new ArrayList<>();
+    private long maxLagMs = 5000;
+    private long healthCheckMs = 5000;
+    private long readYourWritesMs = 5000;
+    private int replicaPoolSize = 10;
+
+    public boolean isRoutingEnabled() {
+        return routingEnabled;
+    }
+
+    public void setRoutingEnabled(boolean routingEnabled) {
+        this.routingEnabled = routingEnabled;
+    }
+
+    public List<Replica> getReplicas() {
+        return replicas;
+    }
+
+    public void setReplicas(List<Replica> replicas) {
+        this.replicas = replicas;
+    }
+
+    public long getMaxLagMs() {
+        return maxLagMs;
+    }
+
+    public void setMaxLagMs(long maxLagMs) {
+        this.maxLagMs = maxLagMs;
+    }
+
+    public long getHealthCheckMs() {
+        return healthCheckMs;
+    }
+
+    public void setHealthCheckMs(long healthCheckMs) {
+        this.healthCheckMs = healthCheckMs;
+    }
+
+    public long getReadYourWritesMs() {
+        return readYourWritesMs;
+    }
+
+    public void setReadYourWritesMs(long readYourWritesMs) {
+        this.readYourWritesMs = readYourWritesMs;
+    }
+
+    public int getReplicaPoolSize() {
+        return replicaPoolSize;
+    }
+
+    public void setReplicaPoolSize(int replicaPoolSize) {
+        this.replicaPoolSize = replicaPoolSize;
+    }
+
+    public static class Replica {
+        private String url;
+        private String username;
+        private String password;
+
+        public String getUrl() {
+            return url;
+        }
+
+        public void setUrl(String url) {
+            this.url = url;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public void setUsername(String username) {
+            this.username = username;
+        }
+
+        public String getPassword() {
+            return password;
+        }
+
+        public void setPassword(String password) {
+            this.password = password;
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.example.DevHub.Config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends read-only transactions to a healthy replica and everything else to the primary.
+ * A replica is used only while its last health check succeeded and its replay lag was within the limit.
+ * A user whose write transaction committed recently is kept on the primary, so they read their own writes.
+ * That window is kept in memory per node: with several instances behind a load balancer, a read that lands on
+ * another node than the write may still go to a replica, and writes outside a transaction do not open it.
+ * Must sit behind a LazyConnectionDataSourceProxy: the routing decision needs the transaction's read-only
+ * flag, which is only set after the transaction has begun.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+    static final String PRIMARY = "primary";
+
+    // 0 while a streaming replica has replayed everything it received, so an idle primary does not look like lag.
+    // A replica whose WAL receiver is not streaming cannot know what it is missing, so it is judged by the age of
+    // its last replayed transaction, and is unusable (NULL) if it never replayed one. pg_stat_wal_receiver only
+    // shows the status to roles with pg_read_all_stats; without it every replica is judged that way, and drops out
+    // while the primary is idle.
+    private static final String LAG_QUERY = "SELECT CASE WHEN NOT pg_is_in_recovery() THEN 0 "
+            + "WHEN NOT EXISTS (SELECT 1 FROM pg_stat_wal_receiver WHERE status = 'streaming') "
+            + "THEN EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000 "
+            + "WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 "
+            + "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0) END";
+
+    private final List<String> replicaKeys;
+    private final Map<String, DataSource> replicas;
+    private final Map<String, Long> lagMillis = new ConcurrentHashMap<>();
+    private final Map<String, Long> lastWriteNanos = new ConcurrentHashMap<>();
+    private final AtomicInteger next = new AtomicInteger();
+    private final long maxLagMillis;
+    private final long readYourWritesNanos;
+    private final DataSource primary;
+    private ScheduledExecutorService healthChecker;
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas, long maxLagMillis, long readYourWritesMillis) {
+        this.primary = primary;
+        this.replicas = replicas;
+        this.replicaKeys = List.copyOf(replicas.keySet());
+        this.maxLagMillis = maxLagMillis;
+        this.readYourWritesNanos = TimeUnit.MILLISECONDS.toNanos(readYourWritesMillis);
+        Map<Object, Object> targets = new HashMap<>(replicas);
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+    }
+
+    /**
+     * Starts checking the replicas on a dedicated thread, so a slow replica never delays other scheduled jobs.
+     * Replicas are not used until their first check passes.
+     * @param intervalMillis The delay between checks
+     */
+    public void startHealthChecks(long intervalMillis) {
+        healthChecker = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "devhub-replica-health");
+            thread.setDaemon(true);
+            return thread;
+        });
+        healthChecker.scheduleWithFixedDelay(this::checkReplicas, 0, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void close() {
+        if (healthChecker != null) {
+            healthChecker.shutdownNow();
+        }
+        for (DataSource dataSource : replicas.values()) {
+            closePool(dataSource);
+        }
+        closePool(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String user = currentUsername();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (user != null && TransactionSynchronizationManager.isActualTransactionActive()) {
+                // Until the commit the write is not visible anywhere, and after a rollback there is nothing to read
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        lastWriteNanos.put(user, System.nanoTime());
+                    }
+                });
+            }
+            return PRIMARY;
+        }
+        if (user != null) {
+            Long wroteAt = lastWriteNanos.get(user);
+            if (wroteAt != null && System.nanoTime() - wroteAt < readYourWritesNanos) {
+                return PRIMARY;
+            }
+        }
+        // Round-robin over the replicas that are currently usable
+        int size = replicaKeys.size();
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(size, 1));
+        for (int i = 0; i < size; i++) {
+            String key = replicaKeys.get((start + i) % size);
+            Long lag = lagMillis.get(key);
+            if (lag != null && lag <= maxLagMillis) {
+                return key;
+            }
+        }
+        return PRIMARY;
+    }
+
+    /**
+     * Checks every replica and records its replay lag, or marks it unusable if it cannot be queried.
+     * Also forgets writers whose read-your-writes window has passed.
+     */
+    public void checkReplicas() {
+        for (Map.Entry<String, DataSource> replica : replicas.entrySet()) {
+            try (Connection connection = replica.getValue().getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery(LAG_QUERY)) {
+                resultSet.next();
+                long lag = resultSet.getLong(1);
+                if (resultSet.wasNull()) {
+                    throw new SQLException("replica is not streaming and has not replayed any transaction");
+                }
+                Long previous = lagMillis.put(replica.getKey(), lag);
+                if (previous == null) {
+                    logger.info("Read replica {} is available, lag {} ms", replica.getKey(), lag);
+                } else if (lag > maxLagMillis && previous <= maxLagMillis) {
+                    logger.warn("Read replica {} is lagging {} ms, reads fall back until it catches up", replica.getKey(), lag);
+                }
+            } catch (SQLException e) {
+                if (lagMillis.remove(replica.getKey()) != null) {
+                    logger.warn("Read replica {} failed its health check, reads fall back: {}", replica.getKey(), e.getMessage());
+                }
+            }
+        }
+        long now = System.nanoTime();
+        lastWriteNanos.values().removeIf(wroteAt -> now - wroteAt >= readYourWritesNanos);
+    }
+
+    /**
+     * Returns the last measured lag of a replica.
+     * @param key The replica key
+     * @return The lag in milliseconds, or -1 if the replica is currently unusable
+     */
+    public long getLagMillis(String key) {
+        return lagMillis.getOrDefault(key, -1L);
+    }
+
+    public List<String> getReplicaKeys() {
+        return replicaKeys;
+    }
+
+    private static void closePool(DataSource dataSource) {
+        if (dataSource instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception e) {
+                logger.warn("Failed to close connection pool: {}", e.getMessage());
+            }
+        }
+    }
+
+    private static String currentUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.isAuthenticated() ? authentication.getName() : null;
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.DevHub.Config;
+
+import com.example.DevHub.Model.Role;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Copies roles from the former user_roles collection table into users.role_mask, once.
+ * Runs during startup, before the server accepts requests. The transaction manager is injected so that
+ * Hibernate has already added the role_mask column. Nodes starting together take turns on an advisory lock,
+ * and whoever comes second finds the copy recorded in devhub_migrations.
+ * user_roles itself is left in place, so nodes still on the previous release keep working during a rolling
+ * deploy and the release can be rolled back. Drop it by hand (DROP TABLE user_roles) once no node runs the
+ * previous release any more; roles changed through such a node after the copy are not carried over.
+ */
+@Component
+public class RoleMaskMigration {
+
+    private static final Logger logger = LoggerFactory.getLogger(RoleMaskMigration.class);
+    private static final long LOCK_KEY = 0x44657648756252L; // Any constant shared by all nodes
+    private static final String NAME = "role_mask_from_user_roles";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public RoleMaskMigration(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @PostConstruct
+    public void migrate() {
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!userRolesExists()) {
+                return;
+            }
+            jdbcTemplate.query("SELECT pg_advisory_xact_lock(?)", rs -> { }, LOCK_KEY);
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS devhub_migrations "
+                    + "(name varchar(100) PRIMARY KEY, applied_at timestamp NOT NULL DEFAULT now())");
+            if (!userRolesExists() || applied()) {
+                return;
+            }
+            // Names were stored in any case, sometimes with the ROLE_ prefix; users with only unknown roles become USER
+            StringBuilder bits = new StringBuilder("CASE regexp_replace(upper(trim(r.role)), '^ROLE_', '')");
+            for (Role role : Role.values()) {
+                bits.append(" WHEN '").append(role.name()).append("' THEN ").append(role.bit());
+            }
+            bits.append(" ELSE 0 END");
+            int users = jdbcTemplate.update("UPDATE users u SET role_mask = CASE WHEN m.mask = 0 THEN " + Role.USER.bit()
+                    + " ELSE m.mask END FROM (SELECT r.user_id, bit_or(" + bits + ") AS mask FROM user_roles r "
+                    + "GROUP BY r.user_id) m WHERE u.id = m.user_id");
+            jdbcTemplate.update("INSERT INTO devhub_migrations (name) VALUES (?)", NAME);
+            logger.info("Copied the roles of {} users to role masks; user_roles is no longer used and can be dropped "
+                    + "once every node runs this release", users);
+        });
+    }
+
+    private boolean applied() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM devhub_migrations WHERE name = ?)", Boolean.class, NAME));
+    }
+
+    private boolean userRolesExists() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT to_regclass('user_roles') IS NOT NULL", Boolean.class));
+    }
+}
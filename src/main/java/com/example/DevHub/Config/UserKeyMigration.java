@@ -0,0 +1,55 @@
+package com.example.DevHub.Config;
+
+import com.example.DevHub.Model.User;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Drops the unique constraints Hibernate generated for users.username and users.email under hashed names.
+ * Hibernate has added the explicitly named ones by the time this runs, and while both exist Postgres may report
+ * a duplicate under either name. A legacy constraint is only dropped once the named one on its column exists.
+ * Nodes starting together take turns on an advisory lock; whoever comes second finds nothing left to drop.
+ */
+@Component
+public class UserKeyMigration {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserKeyMigration.class);
+    private static final long LOCK_KEY = 0x44657648756253L; // Any constant shared by all nodes
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public UserKeyMigration(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @PostConstruct
+    public void migrate() {
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.query("SELECT pg_advisory_xact_lock(?)", rs -> { }, LOCK_KEY);
+            dropLegacyKeys("username", User.USERNAME_KEY);
+            dropLegacyKeys("email", User.EMAIL_KEY);
+        });
+    }
+
+    private void dropLegacyKeys(String column, String key) {
+        List<String> legacy = jdbcTemplate.queryForList("SELECT c.conname FROM pg_constraint c "
+                + "JOIN pg_attribute a ON a.attrelid = c.conrelid AND a.attnum = c.conkey[1] "
+                + "WHERE c.conrelid = 'users'::regclass AND c.contype = 'u' AND cardinality(c.conkey) = 1 "
+                + "AND a.attname = ? AND c.conname <> ? "
+                + "AND EXISTS (SELECT 1 FROM pg_constraint k WHERE k.conrelid = c.conrelid AND k.conname = ?)",
+                String.class, column, key, key);
+        for (String name : legacy) {
+            jdbcTemplate.execute("ALTER TABLE users DROP CONSTRAINT \"" + name.replace("\"", "\"\"") + "\"");
+            logger.info("Dropped unique constraint {} on users.{}, superseded by {}", name, column, key);
+        }
+    }
+}
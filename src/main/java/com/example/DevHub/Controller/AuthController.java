@@ -1,11 +1,12 @@
 package com.example.DevHub.Controller;
 
+import com.example.DevHub.Model.Role;
 import com.example.DevHub.Model.User;
 import com.example.DevHub.Service.JwtService;
+import com.example.DevHub.Service.UserAvailabilityService;
 import com.example.DevHub.Service.UserService;
 import com.example.DevHub.dto.LoginRequest; // Import external DTO
 import com.example.DevHub.dto.RegisterRequest; // Import external DTO
-import com.example.DevHub.exception.DuplicateEntryException; // Custom exception
 import jakarta.validation.Valid; // For @Valid annotation
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -22,6 +23,7 @@ import org.slf4j.LoggerFactory; // Logger Factory
 import java.util.HashMap;
 import java.util.List; // For List type if used explicitly
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/auth")
@@ -31,12 +33,15 @@ public class AuthController {
     private final AuthenticationManager authenticationManager;
     private final JwtService jwtService;
     private final UserService userService;
+    private final UserAvailabilityService availabilityService;
 
     @Autowired
-    public AuthController(AuthenticationManager authenticationManager, JwtService jwtService, UserService userService) {
+    public AuthController(AuthenticationManager authenticationManager, JwtService jwtService, UserService userService,
+                          UserAvailabilityService availabilityService) {
         this.authenticationManager = authenticationManager;
         this.jwtService = jwtService;
         this.userService = userService;
+        this.availabilityService = availabilityService;
     }
 
     /**
@@ -84,9 +89,8 @@ public class AuthController {
             );
             User user = (User) authentication.getPrincipal(); // Get your User object from principal
 
-            // Check if the authenticated user has the "ROLE_ADMIN" authority (after normalization)
-            boolean isAdmin = user.getAuthorities().stream()
-                    .anyMatch(grantedAuthority -> grantedAuthority.getAuthority().equals("ROLE_ADMIN"));
+            // Check the ADMIN bit of the user's role mask
+            boolean isAdmin = user != null && user.hasRole(Role.ADMIN);
 
             if (user == null || !isAdmin) { // Check if user object is null or if they are not an Admin
                 logger.warn("Admin login denied for user {}: Not an ADMIN.", loginRequest.getUsername());
@@ -113,41 +117,57 @@ public class AuthController {
     }
 
     /**
-     * Registers a new user.
+     * Registers a new user. The password is hashed off the request thread and the user inserted with a single
+     * statement; a taken username or email fails with DuplicateEntryException, answered as 409 by the
+     * GlobalExceptionHandler, also when the other sign-up for it is running at the same moment.
      *
      * @param registerRequest The user registration details
-     * @return ResponseEntity with JWT token and 201 status
+     * @return Completes with the JWT token and 201 status
      */
     @PostMapping("/register")
     @PreAuthorize("isAnonymous()") // Only allow unauthenticated users to register
-    public ResponseEntity<Map<String, String>> register(@Valid @RequestBody RegisterRequest registerRequest) { // Add @Valid
-        try {
-            // Create user object from DTO
-            User user = new User();
-            user.setUsername(registerRequest.getUsername());
-            user.setEmail(registerRequest.getEmail());
-            user.setPassword(registerRequest.getPassword()); // Raw password
-
-            // Pass roles from RegisterRequest (now that DTO has it) to User entity
-            // UserService.createUser will handle normalization and validation of these roles.
-            user.setRoles(registerRequest.getRoles());
+    public CompletableFuture<ResponseEntity<Map<String, String>>> register(@Valid @RequestBody RegisterRequest registerRequest) { // Add @Valid
+        // Create user object from DTO
+        User user = new User();
+        user.setUsername(registerRequest.getUsername());
+        user.setEmail(registerRequest.getEmail());
+        user.setPassword(registerRequest.getPassword()); // Raw password
 
-            User savedUser = userService.createUser(user); // This method assigns default USER role if roles are empty or invalid
+        // Pass roles from RegisterRequest (now that DTO has it) to User entity
+        // UserService assigns the default USER role if roles are empty or invalid.
+        user.setRoles(registerRequest.getRoles());
 
+        return userService.registerUser(user).thenApply(savedUser -> {
             String jwt = jwtService.generateToken(savedUser); // Generate token for the newly registered user
             Map<String, String> response = new HashMap<>();
             response.put("token", jwt);
             return ResponseEntity.status(HttpStatus.CREATED).body(response);
-        } catch (DuplicateEntryException e) { // Catch specific duplicate exceptions
-            logger.warn("Registration failed: {}", e.getMessage());
-            Map<String, String> error = new HashMap<>();
-            error.put("message", e.getMessage());
-            return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
-        } catch (Exception e) { // Catch any other unexpected exceptions
-            logger.error("An unexpected error occurred during registration: {}", e.getMessage(), e);
-            Map<String, String> error = new HashMap<>();
-            error.put("message", "Registration failed: " + e.getMessage());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
+        });
+    }
+
+    /**
+     * Tells the sign-up form whether a username and/or email can still be registered, for live feedback while typing.
+     * Mostly answered from memory; see UserAvailabilityService.
+     *
+     * @param username The username to check, optional
+     * @param email The email to check, optional
+     * @return The availability of each value that was given, or 400 if neither was
+     */
+    @GetMapping("/availability")
+    public ResponseEntity<Map<String, Boolean>> availability(@RequestParam(required = false) String username,
+                                                             @RequestParam(required = false) String email) {
+        boolean checkUsername = username != null && !username.isBlank();
+        boolean checkEmail = email != null && !email.isBlank();
+        if (!checkUsername && !checkEmail) {
+            return ResponseEntity.badRequest().build();
+        }
+        Map<String, Boolean> response = new HashMap<>();
+        if (checkUsername) {
+            response.put("username", availabilityService.isUsernameAvailable(username));
+        }
+        if (checkEmail) {
+            response.put("email", availabilityService.isEmailAvailable(email));
         }
+        return ResponseEntity.ok(response);
     }
-}
\ No newline at end of file
+}
@@ -1,26 +1,42 @@
 package com.example.DevHub.Controller;
 
+import com.example.DevHub.Cache.CacheRegion;
+import com.example.DevHub.Cache.ListResponseCache;
+import com.example.DevHub.Json.WireFormat;
 import com.example.DevHub.Model.BlogPost;
+import com.example.DevHub.Model.TrendingType;
 import com.example.DevHub.Service.BlogPostService;
+import com.example.DevHub.Service.ViewCountService;
+import com.example.DevHub.dto.TermCount;
 import com.example.DevHub.exception.AuthenticationRequiredException; // Add these imports
 import com.example.DevHub.exception.ResourceNotFoundException;
 import com.example.DevHub.exception.UnauthorizedOperationException;
 import jakarta.validation.Valid; // Assuming BlogPost also has @Valid annotations
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus; // For ResponseEntity statuses
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize; // For role/owner checks
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Locale;
 
 @RestController
 @RequestMapping("/api/blog-posts")
 public class BlogPostController {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final BlogPostService blogPostService;
+    private final ListResponseCache listResponseCache;
+    private final ViewCountService viewCountService;
 
-    public BlogPostController(BlogPostService blogPostService) {
+    public BlogPostController(BlogPostService blogPostService, ListResponseCache listResponseCache, ViewCountService viewCountService) {
         this.blogPostService = blogPostService;
+        this.listResponseCache = listResponseCache;
+        this.viewCountService = viewCountService;
     }
 
     @PostMapping
@@ -36,21 +52,64 @@ public class BlogPostController {
 
     @GetMapping
    // Any authenticated user can list/filter
-    public ResponseEntity<List<BlogPost>> getAllBlogPosts(@RequestParam(required = false) Long authorId) {
-        if (authorId != null) {
-            // If authorId is provided, filter by author. The service will handle authorization check for this if needed.
-            return ResponseEntity.ok(blogPostService.getBlogPostsByAuthor(authorId));
+    // The encoded body is served from ListResponseCache as JSON, CBOR or Smile by Accept; page and size are optional and the full list is returned without them
+    public ResponseEntity<byte[]> getAllBlogPosts(@RequestParam(required = false) Long authorId,
+                                                  @RequestParam(required = false) Integer page,
+                                                  @RequestParam(required = false) Integer size,
+                                                 @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        String filter = authorId != null ? "author:" + authorId : "all";
+        WireFormat format = WireFormat.negotiate(accept);
+        byte[] body;
+        if (page == null && size == null) {
+            body = listResponseCache.get(CacheRegion.BLOG_POSTS, filter, -1, -1, format, () -> authorId != null
+                    ? blogPostService.getBlogPostsByAuthor(authorId)
+                    : blogPostService.getAllBlogPosts());
+        } else {
+            int pageNumber = Math.max(page != null ? page : 0, 0);
+            int pageSize = Math.min(Math.max(size != null ? size : 20, 1), MAX_PAGE_SIZE);
+            PageRequest pageRequest = PageRequest.of(pageNumber, pageSize, Sort.by("id"));
+            body = listResponseCache.get(CacheRegion.BLOG_POSTS, filter, pageNumber, pageSize, format, () -> authorId != null
+                    ? blogPostService.getBlogPostsByAuthor(authorId, pageRequest)
+                    : blogPostService.getAllBlogPosts(pageRequest));
         }
-        // If no authorId, return all blogs (e.g., for an admin view or general public view)
-        // You might want to filter this further in the service if it's only for admins.
-        return ResponseEntity.ok(blogPostService.getAllBlogPosts());
+        return ResponseEntity.ok().contentType(format.mediaType()).varyBy(HttpHeaders.ACCEPT).body(body);
+    }
+
+    @GetMapping("/tags/{tag}/posts")
+    // Posts carrying a tag, newest first, looked up through the tag index and cached like the other lists
+    public ResponseEntity<byte[]> getBlogPostsByTag(@PathVariable String tag,
+                                                    @RequestParam(defaultValue = "0") int page,
+                                                    @RequestParam(defaultValue = "20") int size,
+                                                    @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        int pageNumber = Math.max(page, 0);
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        WireFormat format = WireFormat.negotiate(accept);
+        byte[] body = listResponseCache.get(CacheRegion.BLOG_POSTS, "tag:" + tag.trim().toLowerCase(Locale.ROOT), pageNumber, pageSize, format,
+                () -> blogPostService.getBlogPostsByTag(tag, pageNumber, pageSize));
+        return ResponseEntity.ok().contentType(format.mediaType()).varyBy(HttpHeaders.ACCEPT).body(body);
+    }
+
+    @GetMapping("/tags")
+    // Tag cloud: the most used tags with their post counts
+    public ResponseEntity<List<TermCount>> getTopTags(@RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(blogPostService.getTopTags(Math.min(Math.max(limit, 1), MAX_PAGE_SIZE)));
+    }
+
+    @GetMapping("/tags/{tag}/related")
+    public ResponseEntity<List<TermCount>> getRelatedTags(@PathVariable String tag, @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(blogPostService.getRelatedTags(tag, Math.min(Math.max(limit, 1), MAX_PAGE_SIZE)));
     }
 
     @GetMapping("/{id}")
      // Any authenticated user can view a specific blog
     public ResponseEntity<BlogPost> getBlogPostById(@PathVariable Long id) {
         return blogPostService.getBlogPostById(id)
-                .map(ResponseEntity::ok)
+                .map(post -> {
+                    // Counted in memory; the response shows the stored count plus views not yet flushed
+                    viewCountService.recordView(TrendingType.BLOG_POST, id);
+                    post.setViews(viewCountService.currentViews(TrendingType.BLOG_POST, id, post.getViews()));
+                    return ResponseEntity.ok(post);
+                })
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
@@ -2,45 +2,79 @@ package com.example.DevHub.Controller;
 
 import com.example.DevHub.Model.Comment;
 import com.example.DevHub.Service.CommentService;
+import com.example.DevHub.Service.CommentStreamService;
+import com.example.DevHub.Service.JwtService;
+import com.example.DevHub.dto.CommentResponse;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.security.Principal;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/comments")
 public class CommentController {
 
     private final CommentService commentService;
+    private final CommentStreamService commentStreamService;
+    private final JwtService jwtService;
 
-    public CommentController(CommentService commentService) {
+    public CommentController(CommentService commentService, CommentStreamService commentStreamService, JwtService jwtService) {
         this.commentService = commentService;
+        this.commentStreamService = commentStreamService;
+        this.jwtService = jwtService;
     }
 
+    private static final int MAX_PAGE_SIZE = 100;
+
     @PostMapping("/blog/{blogPostId}")
-    public ResponseEntity<Comment> createComment(@PathVariable Long blogPostId, @RequestBody Comment comment) {
+    public ResponseEntity<CommentResponse> createComment(@PathVariable Long blogPostId, @RequestBody Comment comment) {
         try {
             Comment savedComment = commentService.createBlogComment(comment, blogPostId);
-            return ResponseEntity.ok(savedComment);
+            return ResponseEntity.ok(CommentResponse.from(savedComment));
         } catch (IllegalStateException e) {
             return ResponseEntity.badRequest().build();
         }
     }
 
     @GetMapping
-    public ResponseEntity<List<Comment>> getAllComments() {
-        return ResponseEntity.ok(commentService.getAllComments());
+    // At most one of blogPostId, projectId and userId filters the list; page and size are optional and the full list is returned without them
+    public ResponseEntity<List<CommentResponse>> getAllComments(@RequestParam(required = false) Long blogPostId,
+                                                                @RequestParam(required = false) Long projectId,
+                                                                @RequestParam(required = false) Long userId,
+                                                                @RequestParam(required = false) Integer page,
+                                                                @RequestParam(required = false) Integer size) {
+        Pageable pageable = Pageable.unpaged();
+        if (page != null || size != null) {
+            pageable = PageRequest.of(Math.max(page != null ? page : 0, 0),
+                    Math.min(Math.max(size != null ? size : 20, 1), MAX_PAGE_SIZE));
+        }
+        if (blogPostId != null) {
+            return ResponseEntity.ok(commentService.getCommentsByBlogPostId(blogPostId, pageable));
+        }
+        if (projectId != null) {
+            return ResponseEntity.ok(commentService.getCommentsByProjectId(projectId, pageable));
+        }
+        if (userId != null) {
+            return ResponseEntity.ok(commentService.getCommentsByUserId(userId, pageable));
+        }
+        return ResponseEntity.ok(commentService.getAllComments(pageable));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Comment> getCommentById(@PathVariable Long id) {
+    public ResponseEntity<CommentResponse> getCommentById(@PathVariable Long id) {
         return commentService.getCommentById(id)
                 .map(ResponseEntity::ok)
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<Comment> updateComment(@PathVariable Long id, @RequestBody Comment commentDetails) {
+    public ResponseEntity<CommentResponse> updateComment(@PathVariable Long id, @RequestBody Comment commentDetails) {
         try {
             return ResponseEntity.ok(commentService.updateComment(id, commentDetails));
         } catch (IllegalStateException e) {
@@ -57,4 +91,31 @@ public class CommentController {
             return ResponseEntity.badRequest().build();
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Issues a stream ticket for the calling user. EventSource cannot send headers, so a client fetches a ticket
+     * with its bearer token and opens the stream with it as the ticket query parameter, within the ticket's lifetime.
+     */
+    @PostMapping("/stream-tickets")
+    public ResponseEntity<Map<String, Object>> createStreamTicket(Principal principal) {
+        return ResponseEntity.ok(Map.of("ticket", jwtService.generateStreamTicket(principal.getName()),
+                "expiresInMs", jwtService.getStreamTicketMs()));
+    }
+
+    /**
+     * Streams comment-created, comment-updated and comment-deleted events for a blog post.
+     * Authenticated with a bearer token or a ticket from /stream-tickets.
+     */
+    @GetMapping(path = "/stream/blog/{blogPostId}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamBlogComments(@PathVariable Long blogPostId) {
+        return commentStreamService.subscribeToBlogPost(blogPostId);
+    }
+
+    /**
+     * Streams comment-created, comment-updated and comment-deleted events for a project.
+     */
+    @GetMapping(path = "/stream/project/{projectId}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamProjectComments(@PathVariable Long projectId) {
+        return commentStreamService.subscribeToProject(projectId);
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.DevHub.Controller;
+
+import com.example.DevHub.Model.ActivityEvent;
+import com.example.DevHub.Service.ActivityFeedService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/feed")
+public class FeedController {
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final ActivityFeedService activityFeedService;
+
+    public FeedController(ActivityFeedService activityFeedService) {
+        this.activityFeedService = activityFeedService;
+    }
+
+    /**
+     * Retrieves the global activity feed, newest first.
+     * Pass the ID of the last event received as beforeId to get the next page.
+     */
+    @GetMapping
+    public ResponseEntity<List<ActivityEvent>> getGlobalFeed(@RequestParam(required = false) Long beforeId,
+                                                             @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(activityFeedService.getGlobalFeed(beforeId, clamp(size)));
+    }
+
+    /**
+     * Retrieves a user's activity feed: their own posts, projects and comments, and comments on their content.
+     */
+    @GetMapping("/users/{userId}")
+    public ResponseEntity<List<ActivityEvent>> getUserFeed(@PathVariable Long userId,
+                                                           @RequestParam(required = false) Long beforeId,
+                                                           @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(activityFeedService.getUserFeed(userId, beforeId, clamp(size)));
+    }
+
+    private static int clamp(int size) {
+        return Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+    }
+}
@@ -1,10 +1,19 @@
 package com.example.DevHub.Controller;
+import com.example.DevHub.Cache.CacheRegion;
+import com.example.DevHub.Cache.ListResponseCache;
+import com.example.DevHub.Json.WireFormat;
 import com.example.DevHub.Model.Project;
+import com.example.DevHub.Model.TrendingType;
 import com.example.DevHub.Service.ProjectService;
+import com.example.DevHub.Service.ViewCountService;
+import com.example.DevHub.dto.ProjectFacetResponse;
 import com.example.DevHub.exception.AuthenticationRequiredException; // Add imports for custom exceptions
 import com.example.DevHub.exception.ResourceNotFoundException;
 import com.example.DevHub.exception.UnauthorizedOperationException;
 import jakarta.validation.Valid; // Assuming Project also has @Valid annotations for DTOs
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus; // For ResponseEntity statuses
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize; // For role/owner checks
@@ -17,10 +26,16 @@ import java.util.Optional; // For getById
 @RequestMapping("/api/projects")
 public class ProjectController {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final ProjectService projectService;
+    private final ListResponseCache listResponseCache;
+    private final ViewCountService viewCountService;
 
-    public ProjectController(ProjectService projectService) {
+    public ProjectController(ProjectService projectService, ListResponseCache listResponseCache, ViewCountService viewCountService) {
         this.projectService = projectService;
+        this.listResponseCache = listResponseCache;
+        this.viewCountService = viewCountService;
     }
 
     @PostMapping
@@ -42,21 +57,56 @@ public class ProjectController {
     // If you only want to show *my* projects by default, remove this or make it admin-only.
     @GetMapping
    // For basic access, but filtering needs more specific endpoint
-    public ResponseEntity<List<Project>> getAllProjects(@RequestParam(required = false) Long creatorId) {
+    // The encoded body is served from ListResponseCache as JSON, CBOR or Smile by Accept; page and size are optional and the full list is returned without them
+    public ResponseEntity<byte[]> getAllProjects(@RequestParam(required = false) Long creatorId,
+                                                 @RequestParam(required = false) Integer page,
+                                                 @RequestParam(required = false) Integer size,
+                                                 @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
         // This allows fetching all projects or filtering by creatorId if provided
         // The frontend will call /api/projects?creatorId={currentUserId}
-        if (creatorId != null) {
-            return ResponseEntity.ok(projectService.getProjectsByCreator(creatorId));
+        String filter = creatorId != null ? "creator:" + creatorId : "all";
+        WireFormat format = WireFormat.negotiate(accept);
+        byte[] body;
+        if (page == null && size == null) {
+            body = listResponseCache.get(CacheRegion.PROJECTS, filter, -1, -1, format, () -> creatorId != null
+                    ? projectService.getProjectsByCreator(creatorId)
+                    : projectService.getAllProjects());
+        } else {
+            int pageNumber = Math.max(page != null ? page : 0, 0);
+            int pageSize = Math.min(Math.max(size != null ? size : 20, 1), MAX_PAGE_SIZE);
+            PageRequest pageRequest = PageRequest.of(pageNumber, pageSize, Sort.by("id"));
+            body = listResponseCache.get(CacheRegion.PROJECTS, filter, pageNumber, pageSize, format, () -> creatorId != null
+                    ? projectService.getProjectsByCreator(creatorId, pageRequest)
+                    : projectService.getAllProjects(pageRequest));
+        }
+        return ResponseEntity.ok().contentType(format.mediaType()).varyBy(HttpHeaders.ACCEPT).body(body);
+    }
+
+    @GetMapping("/search")
+    // Faceted browsing by technology, e.g. ?tech=java&tech=spring boot&mode=all; mode=any matches either
+    public ResponseEntity<ProjectFacetResponse> searchProjects(@RequestParam(name = "tech", required = false) List<String> technologies,
+                                                               @RequestParam(defaultValue = "all") String mode,
+                                                               @RequestParam(defaultValue = "0") int page,
+                                                               @RequestParam(defaultValue = "20") int size,
+                                                               @RequestParam(defaultValue = "20") int facets) {
+        if (!"all".equalsIgnoreCase(mode) && !"any".equalsIgnoreCase(mode)) {
+            return ResponseEntity.badRequest().build();
         }
-        // If no creatorId, return all projects (maybe admin-only or public)
-        return ResponseEntity.ok(projectService.getAllProjects());
+        return ResponseEntity.ok(projectService.searchByTechnologies(technologies != null ? technologies : List.of(),
+                "all".equalsIgnoreCase(mode), Math.max(page, 0), Math.min(Math.max(size, 1), MAX_PAGE_SIZE),
+                Math.min(Math.max(facets, 1), MAX_PAGE_SIZE)));
     }
 
     @GetMapping("/{id}")
     // Any authenticated user can view a specific project
     public ResponseEntity<Project> getProjectById(@PathVariable Long id) {
         return projectService.getProjectById(id)
-                .map(ResponseEntity::ok)
+                .map(project -> {
+                    // Counted in memory; the response shows the stored count plus views not yet flushed
+                    viewCountService.recordView(TrendingType.PROJECT, id);
+                    project.setViews(viewCountService.currentViews(TrendingType.PROJECT, id, project.getViews()));
+                    return ResponseEntity.ok(project);
+                })
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
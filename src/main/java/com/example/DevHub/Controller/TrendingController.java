@@ -0,0 +1,33 @@
+package com.example.DevHub.Controller;
+
+import com.example.DevHub.Model.TrendingType;
+import com.example.DevHub.Service.TrendingService;
+import com.example.DevHub.dto.TrendingEntry;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/trending")
+public class TrendingController {
+
+    private static final int MAX_LIMIT = 100;
+
+    private final TrendingService trendingService;
+
+    public TrendingController(TrendingService trendingService) {
+        this.trendingService = trendingService;
+    }
+
+    // Both lists are served from the periodically refreshed snapshot, never computed per request
+    @GetMapping("/blog-posts")
+    public ResponseEntity<List<TrendingEntry>> getTrendingBlogPosts(@RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(trendingService.getTrending(TrendingType.BLOG_POST, Math.min(Math.max(limit, 1), MAX_LIMIT)));
+    }
+
+    @GetMapping("/projects")
+    public ResponseEntity<List<TrendingEntry>> getTrendingProjects(@RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(trendingService.getTrending(TrendingType.PROJECT, Math.min(Math.max(limit, 1), MAX_LIMIT)));
+    }
+}
@@ -1,7 +1,10 @@
 package com.example.DevHub.Controller;
 
 import com.example.DevHub.Model.User;
+import com.example.DevHub.Model.UserDeletionJob;
+import com.example.DevHub.Service.UserDeletionService;
 import com.example.DevHub.Service.UserService;
+import com.example.DevHub.dto.UserPageResponse;
 import com.example.DevHub.dto.UserResponse; // Added for DTO
 import com.example.DevHub.exception.ResourceNotFoundException; // Added
 import com.example.DevHub.exception.UnauthorizedOperationException; // Added
@@ -23,11 +26,15 @@ import java.util.stream.Collectors;
 @RequestMapping("/api/users")
 public class UserController {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final UserService userService;
+    private final UserDeletionService userDeletionService;
 
     @Autowired
-    public UserController(UserService userService) {
+    public UserController(UserService userService, UserDeletionService userDeletionService) {
         this.userService = userService;
+        this.userDeletionService = userDeletionService;
     }
 
     /**
@@ -58,14 +65,36 @@ public class UserController {
     /**
      * Retrieves all users. (Admin only endpoint)
      * @return ResponseEntity with the list of users
+     * @deprecated Returns every user in one response; use {@code GET /api/users/page}
      */
+    @Deprecated
     @GetMapping// Only ADMIN can retrieve all users
     public ResponseEntity<List<UserResponse>> getAllUsers() {
-        List<User> users = userService.getAllUsers();
-        List<UserResponse> userResponses = users.stream()
-                .map(this::mapUserToUserResponse)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(userResponses);
+        return ResponseEntity.ok(userService.getAllUsers());
+    }
+
+    /**
+     * Retrieves one page of users for the admin listing, without loading user entities.
+     * @param page The zero-based page number
+     * @param size The page size, at most 100
+     * @param sort The property to sort by, optionally followed by ",asc" or ",desc", e.g. "createdAt,desc"
+     * @param role Only users with this role, e.g. ADMIN
+     * @return ResponseEntity with the page, or 400 if the sort property is not supported
+     */
+    @GetMapping("/page")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<UserPageResponse> getUserPage(@RequestParam(defaultValue = "0") int page,
+                                                        @RequestParam(defaultValue = "20") int size,
+                                                        @RequestParam(defaultValue = "id") String sort,
+                                                        @RequestParam(required = false) String role) {
+        String[] sortParts = sort.split(",", 2);
+        boolean ascending = sortParts.length < 2 || !"desc".equalsIgnoreCase(sortParts[1].trim());
+        try {
+            return ResponseEntity.ok(userService.getUserPage(Math.max(page, 0), Math.min(Math.max(size, 1), MAX_PAGE_SIZE),
+                    sortParts[0].trim(), ascending, role != null && !role.isBlank() ? role.trim().toUpperCase() : null));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     /**
@@ -92,10 +121,10 @@ public class UserController {
     }
 
     /**
-     * Deletes a user by ID.
+     * Deletes a user by ID. The user is disabled at once; their content is removed in the background.
      * Authorized for ADMIN or the user themselves.
      * @param id The user ID to delete
-     * @return ResponseEntity with 204 on success or 403/404 if invalid
+     * @return ResponseEntity with 202 on success or 403/404 if invalid; progress is at /api/users/{id}/deletion
      */
     @DeleteMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN') or #id == authentication.principal.id") // Allow admin or self to delete
@@ -104,7 +133,21 @@ public class UserController {
         // This specific logic might be better placed in UserService or a more complex auth system
         // For simplicity, we allow self-deletion.
         userService.deleteUser(id);
-        return ResponseEntity.noContent().build();
+        return ResponseEntity.accepted().build();
+    }
+
+    /**
+     * Reports the progress of a user's deletion, also after it finished.
+     * Authorized for ADMIN; the user themselves is disabled once the deletion starts.
+     * @param id The ID of the deleted user
+     * @return ResponseEntity with the deletion job or 404 if the user's deletion was never requested
+     */
+    @GetMapping("/{id}/deletion")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<UserDeletionJob> getDeletion(@PathVariable Long id) {
+        UserDeletionJob job = userDeletionService.getJob(id)
+                .orElseThrow(() -> new ResourceNotFoundException("No deletion requested for user with id: " + id));
+        return ResponseEntity.ok(job);
     }
 
     /**
@@ -125,16 +168,11 @@ public class UserController {
 
     // Helper method to map User entity to UserResponse DTO
     private UserResponse mapUserToUserResponse(User user) {
-        // Ensure roles are without "ROLE_" prefix if frontend expects "USER", "ADMIN"
-        List<String> rolesWithoutPrefix = user.getRoles().stream()
-                .map(role -> role.startsWith("ROLE_") ? role.substring(5) : role)
-                .collect(Collectors.toList());
-
         return new UserResponse(
                 user.getId(),
                 user.getUsername(),
                 user.getEmail(),
-                rolesWithoutPrefix, // Return roles without "ROLE_" prefix for frontend
+                user.getRoles(), // Role names are stored without the "ROLE_" prefix the frontend does not expect
                 user.getCreatedAt(),
                 user.getBio(), // New fields
                 user.getLinkedinUrl(), // New fields
@@ -0,0 +1,146 @@
+package com.example.DevHub.Json;
+
+import com.example.DevHub.Model.BlogPost;
+import com.example.DevHub.Model.Project;
+import com.example.DevHub.dto.CommentResponse;
+import com.example.DevHub.dto.UserResponse;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * Hand-written serializers for the types the list and get-by-id endpoints return most.
+ * Spring Boot registers every Module bean with the application's ObjectMapper, so MVC responses and the
+ * ListResponseCache both use them. The JSON is the same as the reflective serializers produce, which
+ * JsonSerializationTest checks; only serialization changes, request bodies are still read reflectively.
+ * A new property on one of these types has to be added here too.
+ */
+@Component
+public class DevHubJsonModule extends SimpleModule {
+
+    public DevHubJsonModule() {
+        super("DevHubJsonModule");
+        addSerializer(BlogPost.class, new BlogPostSerializer());
+        addSerializer(Project.class, new ProjectSerializer());
+        addSerializer(CommentResponse.class, new CommentResponseSerializer());
+        addSerializer(UserResponse.class, new UserResponseSerializer());
+    }
+
+    // The author is @JsonIgnore, so the lazy association is never touched
+    static final class BlogPostSerializer extends FieldSerializer<BlogPost> {
+        private static final SerializableString ID = name("id");
+        private static final SerializableString TITLE = name("title");
+        private static final SerializableString CONTENT = name("content");
+        private static final SerializableString TAGS = name("tags");
+        private static final SerializableString VIEWS = name("views");
+        private static final SerializableString CREATED_AT = name("createdAt");
+        private static final SerializableString UPDATED_AT = name("updatedAt");
+        private static final SerializableString VERSION = name("version");
+
+        BlogPostSerializer() {
+            super(BlogPost.class);
+        }
+
+        @Override
+        void writeFields(BlogPost post, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            writeNumber(gen, ID, post.getId());
+            writeString(gen, TITLE, post.getTitle());
+            writeString(gen, CONTENT, post.getContent());
+            writeStrings(gen, TAGS, post.getTags());
+            writeNumber(gen, VIEWS, post.getViews());
+            writeDate(gen, provider, CREATED_AT, post.getCreatedAt());
+            writeDate(gen, provider, UPDATED_AT, post.getUpdatedAt());
+            writeNumber(gen, VERSION, post.getVersion());
+        }
+    }
+
+    // The creator is @JsonIgnore, so the lazy association is never touched
+    static final class ProjectSerializer extends FieldSerializer<Project> {
+        private static final SerializableString ID = name("id");
+        private static final SerializableString TITLE = name("title");
+        private static final SerializableString DESCRIPTION = name("description");
+        private static final SerializableString URL = name("url");
+        private static final SerializableString DEMO_URL = name("demoUrl");
+        private static final SerializableString TECH_STACK = name("techStack");
+        private static final SerializableString VIEWS = name("views");
+        private static final SerializableString CREATED_AT = name("createdAt");
+        private static final SerializableString UPDATED_AT = name("updatedAt");
+        private static final SerializableString VERSION = name("version");
+
+        ProjectSerializer() {
+            super(Project.class);
+        }
+
+        @Override
+        void writeFields(Project project, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            writeNumber(gen, ID, project.getId());
+            writeString(gen, TITLE, project.getTitle());
+            writeString(gen, DESCRIPTION, project.getDescription());
+            writeString(gen, URL, project.getUrl());
+            writeString(gen, DEMO_URL, project.getDemoUrl());
+            writeString(gen, TECH_STACK, project.getTechStack());
+            writeNumber(gen, VIEWS, project.getViews());
+            writeDate(gen, provider, CREATED_AT, project.getCreatedAt());
+            writeDate(gen, provider, UPDATED_AT, project.getUpdatedAt());
+            writeNumber(gen, VERSION, project.getVersion());
+        }
+    }
+
+    static final class CommentResponseSerializer extends FieldSerializer<CommentResponse> {
+        private static final SerializableString ID = name("id");
+        private static final SerializableString CONTENT = name("content");
+        private static final SerializableString COMMENTED_AT = name("commentedAt");
+        private static final SerializableString USER_ID = name("userId");
+        private static final SerializableString USERNAME = name("username");
+        private static final SerializableString BLOG_POST_ID = name("blogPostId");
+        private static final SerializableString PROJECT_ID = name("projectId");
+        private static final SerializableString VERSION = name("version");
+
+        CommentResponseSerializer() {
+            super(CommentResponse.class);
+        }
+
+        @Override
+        void writeFields(CommentResponse comment, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            writeNumber(gen, ID, comment.getId());
+            writeString(gen, CONTENT, comment.getContent());
+            writeDate(gen, provider, COMMENTED_AT, comment.getCommentedAt());
+            writeNumber(gen, USER_ID, comment.getUserId());
+            writeString(gen, USERNAME, comment.getUsername());
+            writeNumber(gen, BLOG_POST_ID, comment.getBlogPostId());
+            writeNumber(gen, PROJECT_ID, comment.getProjectId());
+            writeNumber(gen, VERSION, comment.getVersion());
+        }
+    }
+
+    static final class UserResponseSerializer extends FieldSerializer<UserResponse> {
+        private static final SerializableString ID = name("id");
+        private static final SerializableString USERNAME = name("username");
+        private static final SerializableString EMAIL = name("email");
+        private static final SerializableString ROLES = name("roles");
+        private static final SerializableString CREATED_AT = name("createdAt");
+        private static final SerializableString BIO = name("bio");
+        private static final SerializableString LINKEDIN_URL = name("linkedinUrl");
+        private static final SerializableString GITHUB_URL = name("githubUrl");
+
+        UserResponseSerializer() {
+            super(UserResponse.class);
+        }
+
+        @Override
+        void writeFields(UserResponse user, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            writeNumber(gen, ID, user.getId());
+            writeString(gen, USERNAME, user.getUsername());
+            writeString(gen, EMAIL, user.getEmail());
+            writeStrings(gen, ROLES, user.getRoles());
+            writeDate(gen, provider, CREATED_AT, user.getCreatedAt());
+            writeString(gen, BIO, user.getBio());
+            writeString(gen, LINKEDIN_URL, user.getLinkedinUrl());
+            writeString(gen, GITHUB_URL, user.getGithubUrl());
+        }
+    }
+}
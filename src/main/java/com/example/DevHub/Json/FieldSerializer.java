@@ -0,0 +1,96 @@
+package com.example.DevHub.Json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.ResolvableSerializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Base of the hand-written serializers: fields are written one by one from the getters, with names encoded
+ * once up front, instead of through Jackson's reflective bean introspection. Dates still go through the
+ * mapper's own LocalDateTime serializer, so their format follows the application's Jackson configuration.
+ * Subclasses must write exactly the properties, in the order, that the reflective serializer would.
+ */
+abstract class FieldSerializer<T> extends StdSerializer<T> implements ResolvableSerializer {
+
+    private JsonSerializer<Object> dateSerializer;
+
+    FieldSerializer(Class<T> type) {
+        super(type);
+    }
+
+    static SerializableString name(String name) {
+        return new SerializedString(name);
+    }
+
+    @Override
+    public void resolve(SerializerProvider provider) throws JsonMappingException {
+        dateSerializer = provider.findValueSerializer(LocalDateTime.class);
+    }
+
+    @Override
+    public final void serialize(T value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(value);
+        writeFields(value, gen, provider);
+        gen.writeEndObject();
+    }
+
+    abstract void writeFields(T value, JsonGenerator gen, SerializerProvider provider) throws IOException;
+
+    static void writeString(JsonGenerator gen, SerializableString name, String value) throws IOException {
+        gen.writeFieldName(name);
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeString(value);
+        }
+    }
+
+    static void writeNumber(JsonGenerator gen, SerializableString name, Long value) throws IOException {
+        gen.writeFieldName(name);
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(value.longValue());
+        }
+    }
+
+    static void writeNumber(JsonGenerator gen, SerializableString name, long value) throws IOException {
+        gen.writeFieldName(name);
+        gen.writeNumber(value);
+    }
+
+    static void writeStrings(JsonGenerator gen, SerializableString name, List<String> values) throws IOException {
+        gen.writeFieldName(name);
+        if (values == null) {
+            gen.writeNull();
+            return;
+        }
+        gen.writeStartArray(values, values.size());
+        for (String value : values) {
+            if (value == null) {
+                gen.writeNull();
+            } else {
+                gen.writeString(value);
+            }
+        }
+        gen.writeEndArray();
+    }
+
+    void writeDate(JsonGenerator gen, SerializerProvider provider, SerializableString name, LocalDateTime value) throws IOException {
+        gen.writeFieldName(name);
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            dateSerializer.serialize(value, gen, provider);
+        }
+    }
+}
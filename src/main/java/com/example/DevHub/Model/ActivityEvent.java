@@ -0,0 +1,56 @@
+package com.example.DevHub.Model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+/**
+ * Append-only record of something that happened on DevHub, shown in the activity feeds.
+ * Plain IDs instead of associations keep events compact and independent of later deletes.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+@Table(name = "activity_events", indexes = {
+        @Index(name = "idx_activity_events_actor", columnList = "actor_id, id"),
+        @Index(name = "idx_activity_events_owner", columnList = "owner_id, id")
+})
+public class ActivityEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 32)
+    private ActivityType type;
+
+    @Column(name = "actor_id", nullable = false)
+    private Long actorId;
+
+    @Column(name = "actor_username", nullable = false)
+    private String actorUsername;
+
+    @Column(name = "target_id", nullable = false)
+    private Long targetId; // The created post, project or comment
+
+    @Column(name = "subject_id")
+    private Long subjectId; // For comments: the blog post or project that was commented on
+
+    @Column(name = "owner_id")
+    private Long ownerId; // Owner of the subject, who also sees the event in their timeline
+
+    @Column(length = 200)
+    private String summary;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
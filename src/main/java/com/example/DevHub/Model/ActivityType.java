@@ -0,0 +1,8 @@
+package com.example.DevHub.Model;
+
+public enum ActivityType {
+    BLOG_POST_CREATED,
+    PROJECT_CREATED,
+    BLOG_COMMENT_CREATED,
+    PROJECT_COMMENT_CREATED
+}
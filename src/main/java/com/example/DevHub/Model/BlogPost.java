@@ -7,6 +7,7 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -34,10 +35,15 @@ public class BlogPost {
     private String content;
 
     @ElementCollection
+    @BatchSize(size = 100) // Paged reads initialize the tags of a whole page in one query
     @CollectionTable(name = "blog_post_tags", joinColumns = @JoinColumn(name = "post_id"))
     @Column(name = "tag")
     private List<String> tags;
 
+    // Maintained only by ViewCountService's batched flushes; entity saves never write it
+    @Column(nullable = false, insertable = false, updatable = false, columnDefinition = "bigint not null default 0")
+    private long views;
+
     @CreationTimestamp
     @Column(updatable = false)
     private LocalDateTime createdAt;
@@ -45,6 +51,11 @@ public class BlogPost {
     @UpdateTimestamp
     private LocalDateTime updatedAt;
 
+    // Optimistic lock; writers that send back the version they read are rejected if someone saved in between
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint not null default 0")
+    private Long version;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "author_id", nullable = false)
     @JsonIgnore // Prevent recursion and expose via DTOs in controllers
@@ -29,6 +29,11 @@ public class Comment {
     @Column(updatable = false)
     private LocalDateTime commentedAt;
 
+    // Optimistic lock; writers that send back the version they read are rejected if someone saved in between
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint not null default 0")
+    private Long version;
+
     @ManyToOne(fetch = FetchType.LAZY) // Made optional=true by default, nullable = true
     @JoinColumn(name = "user_id", nullable = false) // User is always required
     @JsonIgnore // Prevent recursion
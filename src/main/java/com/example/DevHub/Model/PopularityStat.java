@@ -0,0 +1,51 @@
+package com.example.DevHub.Model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Accumulated popularity of a blog post or project.
+ * The hotness is the natural log of the time-decayed activity, measured against a fixed epoch. Decay never has
+ * to be applied to stored rows, because ordering by hotness is the same as ordering by current decayed activity.
+ * Rows are written only by TrendingService with batched upserts.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "popularity_stats", indexes = @Index(name = "idx_popularity_stats_hotness", columnList = "entity_type, hotness"))
+public class PopularityStat {
+
+    @EmbeddedId
+    private Key id;
+
+    @Column(nullable = false)
+    private long views;
+
+    @Column(nullable = false)
+    private long comments;
+
+    @Column(nullable = false)
+    private double hotness;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Embeddable
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        @Enumerated(EnumType.STRING)
+        @Column(name = "entity_type", nullable = false, length = 16)
+        private TrendingType entityType;
+
+        @Column(name = "entity_id", nullable = false)
+        private Long entityId;
+    }
+}
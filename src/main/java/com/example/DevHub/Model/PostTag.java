@@ -0,0 +1,35 @@
+package com.example.DevHub.Model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * Inverted index entry linking a tag to a blog post that carries it.
+ * The primary key serves "tags of a post"; the secondary index serves "posts with a tag", newest first.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "post_tag_index", indexes = @Index(name = "idx_post_tag_index_tag", columnList = "tag_id, post_id"))
+public class PostTag {
+
+    @EmbeddedId
+    private Key id;
+
+    @Embeddable
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        @Column(name = "post_id", nullable = false)
+        private Long postId;
+
+        @Column(name = "tag_id", nullable = false)
+        private Long tagId;
+    }
+}
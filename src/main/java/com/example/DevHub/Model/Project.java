@@ -45,6 +45,10 @@ public class Project {
     @Column(columnDefinition = "TEXT", nullable = false)
     private String techStack;
 
+    // Maintained only by ViewCountService's batched flushes; entity saves never write it
+    @Column(nullable = false, insertable = false, updatable = false, columnDefinition = "bigint not null default 0")
+    private long views;
+
     @CreationTimestamp // Added for creation timestamp
     @Column(updatable = false)
     private LocalDateTime createdAt;
@@ -52,6 +56,11 @@ public class Project {
     @UpdateTimestamp
     private LocalDateTime updatedAt;
 
+    // Optimistic lock; writers that send back the version they read are rejected if someone saved in between
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint not null default 0")
+    private Long version;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     @JsonIgnore // Prevent recursion and expose via DTOs in controllers
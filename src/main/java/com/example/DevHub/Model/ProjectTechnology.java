@@ -0,0 +1,35 @@
+package com.example.DevHub.Model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * Links a project to a technology of its tech stack.
+ * The primary key serves "technologies of a project"; the secondary index serves facet filters by technology.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "project_technologies", indexes = @Index(name = "idx_project_technologies_technology", columnList = "technology_id, project_id"))
+public class ProjectTechnology {
+
+    @EmbeddedId
+    private Key id;
+
+    @Embeddable
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        @Column(name = "project_id", nullable = false)
+        private Long projectId;
+
+        @Column(name = "technology_id", nullable = false)
+        private Long technologyId;
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.DevHub.Model;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * The roles a user can have, stored together as a bitmask in users.role_mask.
+ * Every possible mask maps to one shared, immutable authority list and name list, built once,
+ * so authorization checks never allocate.
+ */
+public enum Role {
+    USER,
+    ADMIN;
+
+    // Enough masks for every combination of the constants above
+    private static final int MASKS = 1 << values().length;
+    private static final List<List<GrantedAuthority>> AUTHORITIES = new ArrayList<>(MASKS);
+    private static final List<List<String>> NAMES = new ArrayList<>(MASKS);
+
+    static {
+        for (int mask = 0; mask < MASKS; mask++) {
+            List<GrantedAuthority> authorities = new ArrayList<>();
+            List<String> names = new ArrayList<>();
+            for (Role role : values()) {
+                if ((mask & role.bit()) != 0) {
+                    authorities.add(new SimpleGrantedAuthority("ROLE_" + role.name()));
+                    names.add(role.name());
+                }
+            }
+            AUTHORITIES.add(List.copyOf(authorities));
+            NAMES.add(List.copyOf(names));
+        }
+    }
+
+    /**
+     * @return The bit of this role in a role mask
+     */
+    public int bit() {
+        return 1 << ordinal();
+    }
+
+    /**
+     * Returns the shared Spring Security authorities of a role mask, prefixed with "ROLE_".
+     * @param mask The role mask
+     * @return An immutable list, the same instance for every call with the same mask
+     */
+    public static List<GrantedAuthority> authorities(int mask) {
+        return AUTHORITIES.get(mask & (MASKS - 1));
+    }
+
+    /**
+     * Returns the shared role names of a role mask, without the "ROLE_" prefix.
+     * @param mask The role mask
+     * @return An immutable list, the same instance for every call with the same mask
+     */
+    public static List<String> names(int mask) {
+        return NAMES.get(mask & (MASKS - 1));
+    }
+
+    /**
+     * Parses role names in any case, with or without the "ROLE_" prefix. Unknown names are ignored.
+     * @param names The role names, may be null
+     * @return The role mask, 0 if no name was recognized
+     */
+    public static int maskOf(Collection<String> names) {
+        int mask = 0;
+        if (names != null) {
+            for (String name : names) {
+                Role role = parse(name);
+                if (role != null) {
+                    mask |= role.bit();
+                }
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Parses a role name in any case, with or without the "ROLE_" prefix.
+     * @return The role, or null if the name is unknown
+     */
+    public static Role parse(String name) {
+        if (name == null) {
+            return null;
+        }
+        String normalized = name.trim().toUpperCase(Locale.ROOT);
+        if (normalized.startsWith("ROLE_")) {
+            normalized = normalized.substring(5);
+        }
+        for (Role role : values()) {
+            if (role.name().equals(normalized)) {
+                return role;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.DevHub.Model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * Normalized blog post tag with the number of posts carrying it.
+ * The count is maintained incrementally by TagIndexService, so the tag cloud never has to count posts.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+@Table(name = "tags", indexes = @Index(name = "idx_tags_post_count", columnList = "post_count"))
+public class Tag {
+
+    public static final int MAX_NAME_LENGTH = 64;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, unique = true, length = MAX_NAME_LENGTH)
+    private String name; // Trimmed and lower-cased
+
+    @Column(name = "post_count", nullable = false)
+    private long postCount;
+}
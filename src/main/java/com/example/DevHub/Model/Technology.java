@@ -0,0 +1,34 @@
+package com.example.DevHub.Model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * Normalized technology term parsed from project tech stacks, with the number of projects using it.
+ * The count is maintained incrementally by TechnologyIndexService and serves as the unfiltered facet count.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+@Table(name = "technologies", indexes = @Index(name = "idx_technologies_project_count", columnList = "project_count"))
+public class Technology {
+
+    public static final int MAX_NAME_LENGTH = 64;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, unique = true, length = MAX_NAME_LENGTH)
+    private String name; // Trimmed and lower-cased
+
+    @Column(name = "project_count", nullable = false)
+    private long projectCount;
+}
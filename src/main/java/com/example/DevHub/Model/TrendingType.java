@@ -0,0 +1,9 @@
+package com.example.DevHub.Model;
+
+/**
+ * Kinds of content ranked by popularity.
+ */
+public enum TrendingType {
+    BLOG_POST,
+    PROJECT
+}
@@ -9,31 +9,36 @@ import lombok.NoArgsConstructor;
 import lombok.ToString;
 import org.hibernate.annotations.CreationTimestamp; // Added for consistency with other models
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
-import java.util.stream.Collectors;
 import org.hibernate.validator.constraints.URL; // Added for URL validation on new fields
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", uniqueConstraints = {
+        @UniqueConstraint(name = User.USERNAME_KEY, columnNames = "username"),
+        @UniqueConstraint(name = User.EMAIL_KEY, columnNames = "email")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @ToString(exclude = {"password", "projects", "comments"}) // Exclude sensitive/large fields from toString()
 public class User implements UserDetails {
 
+    // Named so that a unique violation tells which value was taken
+    public static final String USERNAME_KEY = "uk_users_username";
+    public static final String EMAIL_KEY = "uk_users_email";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
     @NotBlank(message = "Username is required")
     @Size(min = 3, max = 50, message = "Username must be between 3 and 50 characters")
-    @Column(unique = true, nullable = false)
+    @Column(nullable = false)
     private String username;
 
     @NotBlank(message = "Password is required")
@@ -44,7 +49,7 @@ public class User implements UserDetails {
 
     @NotBlank(message = "Email is required")
     @Email(message = "Email must be valid")
-    @Column(unique = true, nullable = false)
+    @Column(nullable = false)
     private String email;
 
     // Added for account.html functionality
@@ -58,28 +63,54 @@ public class User implements UserDetails {
     private String githubUrl;
 
 
-    @ElementCollection(fetch = FetchType.EAGER)
-    @CollectionTable(name = "user_roles", joinColumns = @JoinColumn(name = "user_id"))
-    @Column(name = "role")
-    private List<String> roles = new ArrayList<>();
+    // One bit per Role, read with the user row itself; exposed as the "roles" list through getRoles/setRoles.
+    // 0 until roles are given, so request bodies without roles leave them unchanged; UserService defaults to USER
+    @JsonIgnore
+    @Column(name = "role_mask", nullable = false, columnDefinition = "integer not null default 1")
+    private int roleMask;
 
     // Changed to @CreationTimestamp for consistency with other models
     @CreationTimestamp // Automatically sets creation timestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt; // Removed = LocalDateTime.now() as @CreationTimestamp handles it
 
-    @OneToMany(mappedBy = "createdBy", cascade = CascadeType.ALL, orphanRemoval = true)
+    // Cleared as soon as the deletion of the user is requested, which blocks login and token use
+    @JsonIgnore
+    @Column(nullable = false, columnDefinition = "boolean not null default true")
+    private boolean enabled = true;
+
+    // No cascade: users are deleted in batches by UserDeletionService, never through the entity
+    @OneToMany(mappedBy = "createdBy")
     @JsonIgnore // Prevent recursion and expose via DTOs instead
     private List<Project> projects = new ArrayList<>();
 
-    @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, orphanRemoval = true)
+    @OneToMany(mappedBy = "user")
     @JsonIgnore // Prevent recursion and expose via DTOs instead
     private List<Comment> comments = new ArrayList<>();
 
+    /**
+     * @return The role names without the "ROLE_" prefix, e.g. ["USER", "ADMIN"]; shared and immutable
+     */
+    public List<String> getRoles() {
+        return Role.names(roleMask);
+    }
+
+    /**
+     * Sets the roles from names in any case, with or without the "ROLE_" prefix. Unknown names are ignored,
+     * so callers validating input should use {@link Role#maskOf} and check for 0 first.
+     */
+    public void setRoles(List<String> roles) {
+        this.roleMask = Role.maskOf(roles);
+    }
+
+    public boolean hasRole(Role role) {
+        return (roleMask & role.bit()) != 0;
+    }
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        // Ensure roles are prefixed with "ROLE_" for Spring Security's hasRole() to work correctly
-        return roles.stream().map(role -> new SimpleGrantedAuthority("ROLE_" + role)).collect(Collectors.toList());
+        // Prefixed with "ROLE_" for Spring Security's hasRole(); the same list instance for every user with these roles
+        return Role.authorities(roleMask);
     }
 
     @Override
@@ -109,6 +140,6 @@ public class User implements UserDetails {
 
     @Override
     public boolean isEnabled() {
-        return true;
+        return enabled;
     }
 }
\ No newline at end of file
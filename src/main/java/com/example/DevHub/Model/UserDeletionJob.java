@@ -0,0 +1,70 @@
+package com.example.DevHub.Model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Progress of the background deletion of a user and their content.
+ * The row is updated in the same transaction as every batch, so the counts are exact and an interrupted
+ * job resumes at its current phase. The lease keeps two nodes from working on the same job.
+ * Rows are written only by UserDeletionService and are kept after the job is done.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "user_deletion_jobs", indexes = @Index(name = "idx_user_deletion_jobs_phase", columnList = "phase"))
+public class UserDeletionJob {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId; // Not a foreign key, the user row is deleted last
+
+    @Column(nullable = false)
+    private String username;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Phase phase;
+
+    @Column(name = "deleted_comments", nullable = false)
+    private long deletedComments;
+
+    @Column(name = "deleted_blog_posts", nullable = false)
+    private long deletedBlogPosts;
+
+    @Column(name = "deleted_projects", nullable = false)
+    private long deletedProjects;
+
+    // Default for rows of jobs recorded before the activity phase existed
+    @Column(name = "deleted_activity_events", nullable = false, columnDefinition = "bigint not null default 0")
+    private long deletedActivityEvents;
+
+    @Column(name = "requested_at", nullable = false, updatable = false)
+    private LocalDateTime requestedAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Column(name = "lease_until")
+    private LocalDateTime leaseUntil;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    /**
+     * The phases in the order they run. Each phase deletes in batches until nothing of its kind is left.
+     * The column has a check constraint on these names that schema updates do not widen, so extend a phase instead of adding one.
+     */
+    public enum Phase {
+        COMMENTS,   // Comments written by the user
+        BLOG_POSTS, // The user's blog posts, with their comments, tags and popularity
+        PROJECTS,   // The user's projects, with their comments, technologies and popularity
+        USER,       // Feed events by the user or on their content, then the user row
+        DONE
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.DevHub.Repository;
+
+import com.example.DevHub.Model.ActivityEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ActivityEventRepository extends JpaRepository<ActivityEvent, Long> {
+    // Global timeline, newest first; callers pass Long.MAX_VALUE for the first page
+    List<ActivityEvent> findByIdLessThanOrderByIdDesc(Long beforeId, Pageable pageable);
+    // Events persisted by other nodes, pulled into the local timelines
+    List<ActivityEvent> findByIdGreaterThanEqualOrderByIdAsc(Long fromId, Pageable pageable);
+
+    // A user's timeline: their own activity plus activity on their posts and projects
+    @Query("SELECT e FROM ActivityEvent e WHERE (e.actorId = :userId OR e.ownerId = :userId) AND e.id < :beforeId ORDER BY e.id DESC")
+    List<ActivityEvent> findUserTimeline(@Param("userId") Long userId, @Param("beforeId") Long beforeId, Pageable pageable);
+
+    /**
+     * Inserts a batch of new events with one multi-row INSERT and sets their IDs.
+     * The keys stay IDENTITY so event IDs follow insertion order, which the timelines page and catch up by.
+     * @param events Events without IDs
+     * @return The same events, with their IDs
+     */
+    default List<ActivityEvent> insertAll(List<ActivityEvent> events) {
+        int size = events.size();
+        String[] types = new String[size];
+        Long[] actorIds = new Long[size];
+        String[] actorUsernames = new String[size];
+        Long[] targetIds = new Long[size];
+        Long[] subjectIds = new Long[size];
+        Long[] ownerIds = new Long[size];
+        String[] summaries = new String[size];
+        LocalDateTime[] createdAts = new LocalDateTime[size];
+        for (int i = 0; i < size; i++) {
+            ActivityEvent event = events.get(i);
+            types[i] = event.getType().name();
+            actorIds[i] = event.getActorId();
+            actorUsernames[i] = event.getActorUsername();
+            targetIds[i] = event.getTargetId();
+            subjectIds[i] = event.getSubjectId();
+            ownerIds[i] = event.getOwnerId();
+            summaries[i] = event.getSummary();
+            createdAts[i] = event.getCreatedAt();
+        }
+        List<Long> ids = insertRows(types, actorIds, actorUsernames, targetIds, subjectIds, ownerIds, summaries, createdAts);
+        // Rows are inserted in array order within one statement, so their IDs ascend in the same order
+        List<Long> sorted = ids.stream().sorted().toList();
+        for (int i = 0; i < size; i++) {
+            events.get(i).setId(sorted.get(i));
+        }
+        return events;
+    }
+
+    @Transactional
+    @Query(value = "INSERT INTO activity_events (type, actor_id, actor_username, target_id, subject_id, owner_id, summary, created_at) "
+            + "SELECT type, actor_id, actor_username, target_id, subject_id, owner_id, summary, created_at FROM unnest("
+            + "CAST(:types AS varchar[]), CAST(:actorIds AS bigint[]), CAST(:actorUsernames AS varchar[]), "
+            + "CAST(:targetIds AS bigint[]), CAST(:subjectIds AS bigint[]), CAST(:ownerIds AS bigint[]), "
+            + "CAST(:summaries AS varchar[]), CAST(:createdAts AS timestamp[])) WITH ORDINALITY "
+            + "AS e(type, actor_id, actor_username, target_id, subject_id, owner_id, summary, created_at, ord) "
+            + "ORDER BY ord RETURNING id", nativeQuery = true)
+    List<Long> insertRows(@Param("types") String[] types, @Param("actorIds") Long[] actorIds,
+                          @Param("actorUsernames") String[] actorUsernames, @Param("targetIds") Long[] targetIds,
+                          @Param("subjectIds") Long[] subjectIds, @Param("ownerIds") Long[] ownerIds,
+                          @Param("summaries") String[] summaries, @Param("createdAts") LocalDateTime[] createdAts);
+}
@@ -2,16 +2,114 @@ package com.example.DevHub.Repository;
 
 import com.example.DevHub.Model.BlogPost;
 import com.example.DevHub.Model.User; // Added import
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface BlogPostRepository extends JpaRepository<BlogPost, Long> {
+    // Unpaged reads fetch tags in the same query: with open-in-view off, nothing can be loaded while serializing
+    @Override
+    @EntityGraph(attributePaths = "tags")
+    List<BlogPost> findAll();
+
+    @Override
+    @EntityGraph(attributePaths = "tags")
+    Optional<BlogPost> findById(Long id);
+
+    @Override
+    @EntityGraph(attributePaths = "tags")
+    List<BlogPost> findAllById(Iterable<Long> ids);
+
+    // Titles only, without tags or the content itself
+    @Query("SELECT p.id AS id, p.title AS title FROM BlogPost p WHERE p.id IN :ids")
+    List<TitleView> findTitlesByIdIn(@Param("ids") Collection<Long> ids);
+
     // Custom query to find blog posts by a specific author
+    @EntityGraph(attributePaths = "tags")
     List<BlogPost> findByAuthor(User author);
     // You can add more specific queries if needed, e.g., search by title/tags
     List<BlogPost> findByTitleContainingIgnoreCase(String title);
     List<BlogPost> findByTagsContainingIgnoreCase(String tag);
+    @EntityGraph(attributePaths = "tags")
     List<BlogPost> findByAuthorId(Long authorId);
-}
\ No newline at end of file
+    // Paged variants return plain lists so no count query is issued.
+    // They do not join tags, which would page in memory; BlogPostService loads the tags in batches instead
+    List<BlogPost> findAllBy(Pageable pageable);
+    List<BlogPost> findByAuthorId(Long authorId, Pageable pageable);
+
+    // Probe after a conditional write matched nothing: reads the foreign key column only
+    @Query("SELECT b.author.id FROM BlogPost b WHERE b.id = :id")
+    Optional<Long> findAuthorIdById(@Param("id") Long id);
+
+    // Conditional writes: one statement that checks the author (unless the caller is an admin) and the version.
+    // The updates return the written row, so no entity is loaded; the tags are replaced separately
+    String UPDATE = "UPDATE blog_posts SET title = :title, content = :content, updated_at = :updatedAt, version = version + 1 "
+            + "WHERE id = :id AND version = :version ";
+    String RETURNING = "RETURNING id AS \"id\", title AS \"title\", content AS \"content\", views AS \"views\", "
+            + "created_at AS \"createdAt\", updated_at AS \"updatedAt\", version AS \"version\"";
+
+    @Query(value = UPDATE + "AND author_id = :authorId " + RETURNING, nativeQuery = true)
+    Optional<WrittenPost> updateAsAuthor(@Param("id") Long id, @Param("authorId") Long authorId, @Param("version") Long version,
+                                         @Param("title") String title, @Param("content") String content,
+                                         @Param("updatedAt") LocalDateTime updatedAt);
+
+    @Query(value = UPDATE + RETURNING, nativeQuery = true)
+    Optional<WrittenPost> updateAsAdmin(@Param("id") Long id, @Param("version") Long version,
+                                        @Param("title") String title, @Param("content") String content,
+                                        @Param("updatedAt") LocalDateTime updatedAt);
+
+    // The children go in the same statement, whose foreign key checks run at its end, so they are removed
+    // only if the post itself is
+    String DELETE = "c AS (DELETE FROM comments WHERE blog_post_id IN (SELECT id FROM p)), "
+            + "t AS (DELETE FROM blog_post_tags WHERE post_id IN (SELECT id FROM p)) "
+            + "DELETE FROM blog_posts WHERE id IN (SELECT id FROM p)";
+
+    @Modifying
+    @Query(value = "WITH p AS (SELECT id FROM blog_posts WHERE id = :id AND author_id = :authorId), " + DELETE, nativeQuery = true)
+    int deleteAsAuthor(@Param("id") Long id, @Param("authorId") Long authorId);
+
+    @Modifying
+    @Query(value = "WITH p AS (SELECT id FROM blog_posts WHERE id = :id), " + DELETE, nativeQuery = true)
+    int deleteAsAdmin(@Param("id") Long id);
+
+    @Modifying
+    @Query(value = "DELETE FROM blog_post_tags WHERE post_id = :id", nativeQuery = true)
+    void deleteTags(@Param("id") Long id);
+
+    @Modifying
+    @Query(value = "INSERT INTO blog_post_tags (post_id, tag) VALUES (:id, :tag)", nativeQuery = true)
+    void insertTag(@Param("id") Long id, @Param("tag") String tag);
+
+    /**
+     * A post as returned by a conditional update, without its author and tags.
+     */
+    interface WrittenPost {
+        Long getId();
+        String getTitle();
+        String getContent();
+        Long getViews();
+        LocalDateTime getCreatedAt();
+        LocalDateTime getUpdatedAt();
+        Long getVersion();
+
+        default BlogPost toBlogPost() {
+            BlogPost post = new BlogPost();
+            post.setId(getId());
+            post.setTitle(getTitle());
+            post.setContent(getContent());
+            post.setViews(getViews());
+            post.setCreatedAt(getCreatedAt());
+            post.setUpdatedAt(getUpdatedAt());
+            post.setVersion(getVersion());
+            return post;
+        }
+    }
+}
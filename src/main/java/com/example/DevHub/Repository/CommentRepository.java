@@ -4,8 +4,13 @@ import com.example.DevHub.Model.Comment;
 import com.example.DevHub.Model.BlogPost; // Added import
 import com.example.DevHub.Model.Project; // Added import
 import com.example.DevHub.Model.User; // Added import
+import com.example.DevHub.dto.CommentResponse;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,4 +19,67 @@ public interface CommentRepository extends JpaRepository<Comment, Long> {
     List<Comment> findByProject(Project project);
     List<Comment> findByUser(User user);
     // You can add more methods as needed, e.g., find by user and blogpost
-}
\ No newline at end of file
+
+    // Projections: the user is joined for its username, the post and project IDs are read from the foreign key columns
+    String RESPONSE = "SELECT new com.example.DevHub.dto.CommentResponse(c.id, c.content, c.commentedAt, u.id, u.username, "
+            + "c.blogPost.id, c.project.id, c.version) FROM Comment c JOIN c.user u ";
+
+    @Query(RESPONSE + "ORDER BY c.id")
+    List<CommentResponse> findAllResponses(Pageable pageable);
+
+    @Query(RESPONSE + "WHERE c.id = :id")
+    Optional<CommentResponse> findResponseById(@Param("id") Long id);
+
+    @Query(RESPONSE + "WHERE c.blogPost.id = :blogPostId ORDER BY c.id")
+    List<CommentResponse> findResponsesByBlogPostId(@Param("blogPostId") Long blogPostId, Pageable pageable);
+
+    @Query(RESPONSE + "WHERE c.project.id = :projectId ORDER BY c.id")
+    List<CommentResponse> findResponsesByProjectId(@Param("projectId") Long projectId, Pageable pageable);
+
+    @Query(RESPONSE + "WHERE u.id = :userId ORDER BY c.id")
+    List<CommentResponse> findResponsesByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    // Probe after a conditional write matched nothing: reads the foreign key column only
+    @Query("SELECT c.user.id FROM Comment c WHERE c.id = :id")
+    Optional<Long> findUserIdById(@Param("id") Long id);
+
+    // Conditional writes: one statement that checks the author (unless the caller is an admin) and, for updates,
+    // the version. The changed row comes back joined to its author's username
+    String RETURNING = " RETURNING id, content, commented_at, user_id, blog_post_id, project_id, version) "
+            + "SELECT w.id AS \"id\", w.content AS \"content\", w.commented_at AS \"commentedAt\", w.user_id AS \"userId\", "
+            + "u.username AS \"username\", w.blog_post_id AS \"blogPostId\", w.project_id AS \"projectId\", "
+            + "w.version AS \"version\" FROM w JOIN users u ON u.id = w.user_id";
+    String UPDATE = "WITH w AS (UPDATE comments SET content = :content, version = version + 1 WHERE id = :id AND version = :version";
+
+    @Query(value = UPDATE + " AND user_id = :userId" + RETURNING, nativeQuery = true)
+    Optional<WrittenComment> updateAsAuthor(@Param("id") Long id, @Param("userId") Long userId,
+                                            @Param("version") Long version, @Param("content") String content);
+
+    @Query(value = UPDATE + RETURNING, nativeQuery = true)
+    Optional<WrittenComment> updateAsAdmin(@Param("id") Long id, @Param("version") Long version, @Param("content") String content);
+
+    @Query(value = "WITH w AS (DELETE FROM comments WHERE id = :id AND user_id = :userId" + RETURNING, nativeQuery = true)
+    Optional<WrittenComment> deleteAsAuthor(@Param("id") Long id, @Param("userId") Long userId);
+
+    @Query(value = "WITH w AS (DELETE FROM comments WHERE id = :id" + RETURNING, nativeQuery = true)
+    Optional<WrittenComment> deleteAsAdmin(@Param("id") Long id);
+
+    /**
+     * A comment as returned by a conditional update or delete.
+     */
+    interface WrittenComment {
+        Long getId();
+        String getContent();
+        LocalDateTime getCommentedAt();
+        Long getUserId();
+        String getUsername();
+        Long getBlogPostId();
+        Long getProjectId();
+        Long getVersion();
+
+        default CommentResponse toResponse() {
+            return new CommentResponse(getId(), getContent(), getCommentedAt(), getUserId(), getUsername(),
+                    getBlogPostId(), getProjectId(), getVersion());
+        }
+    }
+}
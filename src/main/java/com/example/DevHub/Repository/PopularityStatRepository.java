@@ -0,0 +1,13 @@
+package com.example.DevHub.Repository;
+
+import com.example.DevHub.Model.PopularityStat;
+import com.example.DevHub.Model.TrendingType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface PopularityStatRepository extends JpaRepository<PopularityStat, PopularityStat.Key> {
+    // Hottest first, served by the (entity_type, hotness) index
+    List<PopularityStat> findByIdEntityTypeOrderByHotnessDesc(TrendingType entityType, Pageable pageable);
+}
@@ -0,0 +1,41 @@
+package com.example.DevHub.Repository;
+
+import com.example.DevHub.Model.PostTag;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface PostTagRepository extends JpaRepository<PostTag, PostTag.Key> {
+    // Post IDs carrying a tag, newest first, read from the (tag_id, post_id) index alone
+    @Query("SELECT p.id.postId FROM PostTag p WHERE p.id.tagId = :tagId ORDER BY p.id.postId DESC")
+    List<Long> findPostIdsByTagId(@Param("tagId") Long tagId, Pageable pageable);
+
+    @Query("SELECT t.id, t.name FROM PostTag p JOIN Tag t ON t.id = p.id.tagId WHERE p.id.postId = :postId")
+    List<Object[]> findTagsByPostId(@Param("postId") Long postId);
+
+    @Modifying
+    @Query("DELETE FROM PostTag p WHERE p.id.postId = :postId AND p.id.tagId IN :tagIds")
+    void deleteByPostIdAndTagIds(@Param("postId") Long postId, @Param("tagIds") Collection<Long> tagIds);
+
+    @Modifying
+    @Query(value = "INSERT INTO post_tag_index (post_id, tag_id) VALUES (:postId, :tagId) ON CONFLICT DO NOTHING", nativeQuery = true)
+    void insertIfAbsent(@Param("postId") Long postId, @Param("tagId") Long tagId);
+
+    // Tags that co-occur with a tag, counted over its most recent posts so popular tags stay cheap
+    @Query(value = "SELECT t.name, COUNT(*) AS shared FROM "
+            + "(SELECT post_id FROM post_tag_index WHERE tag_id = :tagId ORDER BY post_id DESC LIMIT :sample) recent "
+            + "JOIN post_tag_index other ON other.post_id = recent.post_id AND other.tag_id <> :tagId "
+            + "JOIN tags t ON t.id = other.tag_id "
+            + "GROUP BY t.name ORDER BY shared DESC, t.name LIMIT :limit", nativeQuery = true)
+    List<Object[]> findRelatedTags(@Param("tagId") Long tagId, @Param("sample") int sample, @Param("limit") int limit);
+
+    @Modifying
+    @Query(value = "INSERT INTO post_tag_index (post_id, tag_id) SELECT DISTINCT b.post_id, t.id FROM blog_post_tags b "
+            + "JOIN tags t ON t.name = lower(trim(b.tag)) ON CONFLICT DO NOTHING", nativeQuery = true)
+    int backfillFromPosts();
+}
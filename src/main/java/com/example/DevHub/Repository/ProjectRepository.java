@@ -2,8 +2,14 @@ package com.example.DevHub.Repository;
 
 import com.example.DevHub.Model.Project;
 import com.example.DevHub.Model.User; // Added import
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,4 +20,78 @@ public interface ProjectRepository extends JpaRepository<Project, Long> {
     List<Project> findByTitleContainingIgnoreCase(String title);
     List<Project> findByTechStackContainingIgnoreCase(String techStack);
     List<Project> findByCreatedById(Long createdById);
-}
\ No newline at end of file
+    // Titles only, without tags or the content itself
+    @Query("SELECT p.id AS id, p.title AS title FROM Project p WHERE p.id IN :ids")
+    List<TitleView> findTitlesByIdIn(@Param("ids") Collection<Long> ids);
+    // Paged variants return plain lists so no count query is issued
+    List<Project> findAllBy(Pageable pageable);
+    List<Project> findByCreatedById(Long createdById, Pageable pageable);
+
+    // Probe after a conditional write matched nothing: reads the foreign key column only
+    @Query("SELECT p.createdBy.id FROM Project p WHERE p.id = :id")
+    Optional<Long> findCreatorIdById(@Param("id") Long id);
+
+    // Conditional writes: one statement that checks the creator (unless the caller is an admin) and the version.
+    // The updates return the written row, so no entity is loaded
+    String UPDATE = "UPDATE projects SET title = :title, description = :description, url = :url, demo_url = :demoUrl, "
+            + "tech_stack = :techStack, updated_at = :updatedAt, version = version + 1 WHERE id = :id AND version = :version ";
+    String RETURNING = "RETURNING id AS \"id\", title AS \"title\", description AS \"description\", url AS \"url\", "
+            + "demo_url AS \"demoUrl\", tech_stack AS \"techStack\", views AS \"views\", created_at AS \"createdAt\", "
+            + "updated_at AS \"updatedAt\", version AS \"version\"";
+
+    @Query(value = UPDATE + "AND user_id = :creatorId " + RETURNING, nativeQuery = true)
+    Optional<WrittenProject> updateAsCreator(@Param("id") Long id, @Param("creatorId") Long creatorId, @Param("version") Long version,
+                                             @Param("title") String title, @Param("description") String description,
+                                             @Param("url") String url, @Param("demoUrl") String demoUrl,
+                                             @Param("techStack") String techStack, @Param("updatedAt") LocalDateTime updatedAt);
+
+    @Query(value = UPDATE + RETURNING, nativeQuery = true)
+    Optional<WrittenProject> updateAsAdmin(@Param("id") Long id, @Param("version") Long version,
+                                           @Param("title") String title, @Param("description") String description,
+                                           @Param("url") String url, @Param("demoUrl") String demoUrl,
+                                           @Param("techStack") String techStack, @Param("updatedAt") LocalDateTime updatedAt);
+
+    // The comments go in the same statement, whose foreign key checks run at its end, so they are removed
+    // only if the project itself is
+    String DELETE = "c AS (DELETE FROM comments WHERE project_id IN (SELECT id FROM p)) "
+            + "DELETE FROM projects WHERE id IN (SELECT id FROM p)";
+
+    @Modifying
+    @Query(value = "WITH p AS (SELECT id FROM projects WHERE id = :id AND user_id = :creatorId), " + DELETE, nativeQuery = true)
+    int deleteAsCreator(@Param("id") Long id, @Param("creatorId") Long creatorId);
+
+    @Modifying
+    @Query(value = "WITH p AS (SELECT id FROM projects WHERE id = :id), " + DELETE, nativeQuery = true)
+    int deleteAsAdmin(@Param("id") Long id);
+
+    /**
+     * A project as returned by a conditional update, without its creator.
+     */
+    interface WrittenProject {
+        Long getId();
+        String getTitle();
+        String getDescription();
+        String getUrl();
+        String getDemoUrl();
+        String getTechStack();
+        Long getViews();
+        LocalDateTime getCreatedAt();
+        LocalDateTime getUpdatedAt();
+        Long getVersion();
+
+        default Project toProject() {
+            Project project = new Project();
+            project.setId(getId());
+            project.setTitle(getTitle());
+            project.setDescription(getDescription());
+            project.setUrl(getUrl());
+            project.setDemoUrl(getDemoUrl());
+            project.setTechStack(getTechStack());
+            project.setViews(getViews());
+            project.setCreatedAt(getCreatedAt());
+            project.setUpdatedAt(getUpdatedAt());
+            project.setVersion(getVersion());
+            return project;
+        }
+    }
+}
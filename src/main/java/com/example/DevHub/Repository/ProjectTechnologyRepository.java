@@ -0,0 +1,43 @@
+package com.example.DevHub.Repository;
+
+import com.example.DevHub.Model.ProjectTechnology;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface ProjectTechnologyRepository extends JpaRepository<ProjectTechnology, ProjectTechnology.Key> {
+    @Query("SELECT t.id, t.name FROM ProjectTechnology p JOIN Technology t ON t.id = p.id.technologyId WHERE p.id.projectId = :projectId")
+    List<Object[]> findTechnologiesByProjectId(@Param("projectId") Long projectId);
+
+    @Modifying
+    @Query("DELETE FROM ProjectTechnology p WHERE p.id.projectId = :projectId AND p.id.technologyId IN :technologyIds")
+    void deleteByProjectIdAndTechnologyIds(@Param("projectId") Long projectId, @Param("technologyIds") Collection<Long> technologyIds);
+
+    @Modifying
+    @Query(value = "INSERT INTO project_technologies (project_id, technology_id) VALUES (:projectId, :technologyId) ON CONFLICT DO NOTHING", nativeQuery = true)
+    void insertIfAbsent(@Param("projectId") Long projectId, @Param("technologyId") Long technologyId);
+
+    // A project matches when it links at least :required of the technologies: all of them for AND, one for OR.
+    // Only the (technology_id, project_id) index is read.
+    @Query(value = "SELECT project_id FROM project_technologies WHERE technology_id IN (:technologyIds) "
+            + "GROUP BY project_id HAVING COUNT(*) >= :required ORDER BY project_id DESC LIMIT :limit OFFSET :offset", nativeQuery = true)
+    List<Long> findMatchingProjectIds(@Param("technologyIds") Collection<Long> technologyIds, @Param("required") int required,
+                                      @Param("limit") int limit, @Param("offset") long offset);
+
+    @Query(value = "SELECT COUNT(*) FROM (SELECT project_id FROM project_technologies WHERE technology_id IN (:technologyIds) "
+            + "GROUP BY project_id HAVING COUNT(*) >= :required) matching", nativeQuery = true)
+    long countMatchingProjects(@Param("technologyIds") Collection<Long> technologyIds, @Param("required") int required);
+
+    // Per-technology counts within the matching projects, i.e. how many results each further facet would keep
+    @Query(value = "SELECT t.name, COUNT(*) AS matches FROM project_technologies pt "
+            + "JOIN (SELECT project_id FROM project_technologies WHERE technology_id IN (:technologyIds) "
+            + "GROUP BY project_id HAVING COUNT(*) >= :required) matching ON matching.project_id = pt.project_id "
+            + "JOIN technologies t ON t.id = pt.technology_id "
+            + "GROUP BY t.name ORDER BY matches DESC, t.name LIMIT :limit", nativeQuery = true)
+    List<Object[]> countFacets(@Param("technologyIds") Collection<Long> technologyIds, @Param("required") int required,
+                               @Param("limit") int limit);
+}
@@ -0,0 +1,39 @@
+package com.example.DevHub.Repository;
+
+import com.example.DevHub.Model.Tag;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface TagRepository extends JpaRepository<Tag, Long> {
+    Optional<Tag> findByName(String name);
+    List<Tag> findByNameIn(Collection<String> names);
+    // Tag cloud, served by the post_count index
+    List<Tag> findByPostCountGreaterThanOrderByPostCountDescNameAsc(long minCount, Pageable pageable);
+
+    // Concurrent writers may introduce the same tag; the loser simply reuses the winner's row
+    @Modifying
+    @Query(value = "INSERT INTO tags (name, post_count) VALUES (:name, 0) ON CONFLICT (name) DO NOTHING", nativeQuery = true)
+    void insertIfAbsent(@Param("name") String name);
+
+    // Relative update, so concurrent posts with the same tag never lose an increment
+    @Modifying
+    @Query("UPDATE Tag t SET t.postCount = t.postCount + :delta WHERE t.id IN :ids")
+    void adjustPostCounts(@Param("ids") Collection<Long> ids, @Param("delta") long delta);
+
+    // Backfill from the blog_post_tags collection; normalization must match TagIndexService.normalize
+    @Modifying
+    @Query(value = "INSERT INTO tags (name, post_count) SELECT DISTINCT lower(trim(tag)), 0 FROM blog_post_tags "
+            + "WHERE length(trim(tag)) BETWEEN 1 AND " + Tag.MAX_NAME_LENGTH + " ON CONFLICT (name) DO NOTHING", nativeQuery = true)
+    int backfillFromPosts();
+
+    @Modifying
+    @Query(value = "UPDATE tags t SET post_count = (SELECT COUNT(*) FROM post_tag_index p WHERE p.tag_id = t.id)", nativeQuery = true)
+    int recountAll();
+}
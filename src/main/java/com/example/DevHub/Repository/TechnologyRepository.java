@@ -0,0 +1,27 @@
+package com.example.DevHub.Repository;
+
+import com.example.DevHub.Model.Technology;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface TechnologyRepository extends JpaRepository<Technology, Long> {
+    List<Technology> findByNameIn(Collection<String> names);
+    // Facet counts without a filter, served by the project_count index
+    List<Technology> findByProjectCountGreaterThanOrderByProjectCountDescNameAsc(long minCount, Pageable pageable);
+
+    // Concurrent writers may introduce the same technology; the loser simply reuses the winner's row
+    @Modifying
+    @Query(value = "INSERT INTO technologies (name, project_count) VALUES (:name, 0) ON CONFLICT (name) DO NOTHING", nativeQuery = true)
+    void insertIfAbsent(@Param("name") String name);
+
+    // Relative update, so concurrent saves using the same technology never lose an increment
+    @Modifying
+    @Query("UPDATE Technology t SET t.projectCount = t.projectCount + :delta WHERE t.id IN :ids")
+    void adjustProjectCounts(@Param("ids") Collection<Long> ids, @Param("delta") long delta);
+}
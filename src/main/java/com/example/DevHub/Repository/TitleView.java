@@ -0,0 +1,7 @@
+package com.example.DevHub.Repository;
+
+// ID and title of a blog post or project, for listings that show nothing else
+public interface TitleView {
+    Long getId();
+    String getTitle();
+}
@@ -0,0 +1,31 @@
+package com.example.DevHub.Repository;
+
+import com.example.DevHub.Model.UserDeletionJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface UserDeletionJobRepository extends JpaRepository<UserDeletionJob, Long> {
+    // Unfinished jobs nobody holds a lease on, served by the phase index
+    @Query("SELECT j.userId FROM UserDeletionJob j WHERE j.phase <> com.example.DevHub.Model.UserDeletionJob.Phase.DONE "
+            + "AND (j.leaseUntil IS NULL OR j.leaseUntil < :now) ORDER BY j.requestedAt")
+    List<Long> findClaimableUserIds(@Param("now") LocalDateTime now);
+
+    // Requesting the deletion of a user twice keeps the first job and its progress
+    @Modifying
+    @Query(value = "INSERT INTO user_deletion_jobs (user_id, username, phase, deleted_comments, deleted_blog_posts, deleted_projects, "
+            + "requested_at, updated_at) VALUES (:userId, :username, 'COMMENTS', 0, 0, 0, now(), now()) "
+            + "ON CONFLICT (user_id) DO NOTHING", nativeQuery = true)
+    void insertIfAbsent(@Param("userId") Long userId, @Param("username") String username);
+
+    // Conditional update, so only one node wins the job
+    @Modifying
+    @Query("UPDATE UserDeletionJob j SET j.leaseUntil = :until WHERE j.userId = :userId "
+            + "AND j.phase <> com.example.DevHub.Model.UserDeletionJob.Phase.DONE "
+            + "AND (j.leaseUntil IS NULL OR j.leaseUntil < :now)")
+    int claim(@Param("userId") Long userId, @Param("now") LocalDateTime now, @Param("until") LocalDateTime until);
+}
@@ -1,7 +1,13 @@
 package com.example.DevHub.Repository;
 
 import com.example.DevHub.Model.User;
+import com.example.DevHub.dto.UserResponse;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
@@ -15,4 +21,19 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     boolean existsByUsername(String username); // Added explicit existence check
     boolean existsByEmail(String email); // Corrected to return boolean
-}
\ No newline at end of file
+
+    // UserResponse fields straight from the columns, so listings load no entities
+    String RESPONSE = "SELECT new com.example.DevHub.dto.UserResponse(u.id, u.username, u.email, u.roleMask, u.createdAt, "
+            + "u.bio, u.linkedinUrl, u.githubUrl) FROM User u";
+
+    @Query(RESPONSE)
+    List<UserResponse> findAllResponses(Sort sort);
+
+    @Query(value = RESPONSE, countQuery = "SELECT COUNT(u) FROM User u")
+    Page<UserResponse> findResponses(Pageable pageable);
+
+    // Users holding the role with the given mask bit
+    @Query(value = RESPONSE + " WHERE bitand(u.roleMask, :bit) <> 0",
+            countQuery = "SELECT COUNT(u) FROM User u WHERE bitand(u.roleMask, :bit) <> 0")
+    Page<UserResponse> findResponsesWithRole(@Param("bit") int bit, Pageable pageable);
+}
@@ -0,0 +1,80 @@
+package com.example.DevHub.Security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Aggregates authentication failures instead of logging each one.
+ * At most one failure per sample interval is logged in full; the rest are only counted
+ * and reported as a single summary line, so a flood of bad tokens cannot turn into a flood of log I/O.
+ */
+@Component
+public class AuthFailureLog {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuthFailureLog.class);
+
+    public enum Reason {
+        EXPIRED,
+        MALFORMED,
+        SIGNATURE,
+        UNSUPPORTED,
+        EMPTY,
+        USER_NOT_FOUND,
+        USER_DISABLED,
+        OTHER
+    }
+
+    private final long sampleIntervalNanos;
+    private final AtomicLong nextSampleAt = new AtomicLong(System.nanoTime());
+    private final Map<Reason, LongAdder> counts = new EnumMap<>(Reason.class);
+
+    public AuthFailureLog(@Value("${devhub.auth.log.sample-interval-ms:10000}") long sampleIntervalMs) {
+        this.sampleIntervalNanos = TimeUnit.MILLISECONDS.toNanos(sampleIntervalMs);
+        for (Reason reason : Reason.values()) {
+            counts.put(reason, new LongAdder());
+        }
+    }
+
+    /**
+     * Records an authentication failure, logging it only if no failure was logged in the current sample interval.
+     * @param reason The kind of failure
+     * @param detail A short description, typically the exception message
+     */
+    public void failure(Reason reason, String detail) {
+        counts.get(reason).increment();
+        long now = System.nanoTime();
+        long next = nextSampleAt.get();
+        if (now - next >= 0 && nextSampleAt.compareAndSet(next, now + sampleIntervalNanos)) {
+            logger.warn("Authentication failure ({}): {} [sampled, see periodic summary for totals]", reason, detail);
+        }
+    }
+
+    /**
+     * Logs the failure counts accumulated since the previous summary, if there were any.
+     */
+    @Scheduled(fixedDelayString = "${devhub.auth.log.summary-interval-ms:60000}")
+    public void logSummary() {
+        StringJoiner summary = new StringJoiner(", ");
+        long total = 0;
+        for (Map.Entry<Reason, LongAdder> entry : counts.entrySet()) {
+            long count = entry.getValue().sumThenReset();
+            if (count > 0) {
+                summary.add(entry.getKey() + "=" + count);
+                total += count;
+            }
+        }
+        if (total > 0) {
+            logger.warn("{} authentication failures since last summary: {}", total, summary);
+        }
+    }
+}
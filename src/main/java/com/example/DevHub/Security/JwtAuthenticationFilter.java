@@ -18,6 +18,7 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -34,14 +35,16 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final UserDetailsService userDetailsService;
     private final JwtService jwtService; // Correctly injected
+    private final AuthFailureLog authFailureLog;
 
     // REMOVED: private final SecretKey secretKey;
     // REMOVED: @Value("${jwt.secret}") String jwtSecret (from constructor)
 
     // Constructor now only takes services it depends on
-    public JwtAuthenticationFilter(UserDetailsService userDetailsService, JwtService jwtService) {
+    public JwtAuthenticationFilter(UserDetailsService userDetailsService, JwtService jwtService, AuthFailureLog authFailureLog) {
         this.userDetailsService = userDetailsService;
         this.jwtService = jwtService;
+        this.authFailureLog = authFailureLog;
         // REMOVED: this.secretKey = Keys.hmacShaKeyFor(jwtSecret.getBytes());
     }
 
@@ -59,53 +62,65 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
 
         String jwt = getJwtFromRequest(request);
+        String streamTicket = jwt == null ? getStreamTicketFromRequest(request) : null;
 
-        if (jwt != null) {
+        if (jwt != null || streamTicket != null) {
             try {
-                // --- Delegate ALL JWT validation and parsing to JwtService ---
-                // JwtService.validateToken will throw specific exceptions if the token is invalid
-                jwtService.validateToken(jwt);
+                String username;
+                if (jwt != null) {
+                    // --- Delegate ALL JWT validation and parsing to JwtService ---
+                    // JwtService.validateToken will throw specific exceptions if the token is invalid
+                    jwtService.validateToken(jwt);
 
-                // If validateToken doesn't throw, token is valid, now get username
-                String username = jwtService.getUsernameFromToken(jwt);
+                    // If validateToken doesn't throw, token is valid, now get username
+                    username = jwtService.getUsernameFromToken(jwt);
+                } else {
+                    username = jwtService.getUsernameFromStreamTicket(streamTicket);
+                }
 
                 if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
                     UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-                    if (userDetails != null) {
+                    if (userDetails != null && !userDetails.isEnabled()) {
+                        // Tokens issued before the user's deletion was requested stop working right away
+                        authFailureLog.failure(AuthFailureLog.Reason.USER_DISABLED, username);
+                        response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "User associated with token is disabled.");
+                        return;
+                    } else if (userDetails != null) {
                         UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
                                 userDetails, null, userDetails.getAuthorities());
                         authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                         SecurityContextHolder.getContext().setAuthentication(authentication);
-                        logger.info("Successfully authenticated user: {}", username);
+                        // Per-request success logging stays at DEBUG; disabled it costs no allocation
+                        logger.debug("Successfully authenticated user: {}", username);
                     } else {
-                        logger.warn("User not found in DB for username from token: {}", username);
+                        authFailureLog.failure(AuthFailureLog.Reason.USER_NOT_FOUND, username);
                         response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "User associated with token not found.");
                         return;
                     }
                 }
             } catch (ExpiredJwtException e) {
                 // Catch specific JWT exceptions re-thrown by JwtService
-                logger.warn("Expired JWT token for user {}: {}", (e.getClaims() != null ? e.getClaims().getSubject() : "unknown"), e.getMessage());
+                // Token failures were already counted and sampled by JwtService.validateToken, so they are not logged again here
                 response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "Expired authentication token.");
                 return;
             } catch (UnsupportedJwtException e) {
-                logger.error("Unsupported JWT token: {}", e.getMessage());
                 response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "Unsupported authentication token.");
                 return;
             } catch (MalformedJwtException e) {
-                logger.error("Invalid JWT token format: {}", e.getMessage());
                 response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "Invalid authentication token format.");
                 return;
             } catch (SignatureException e) {
-                logger.error("Invalid JWT signature: {}", e.getMessage());
                 response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "Invalid authentication token signature.");
                 return;
             } catch (IllegalArgumentException e) {
-                logger.error("JWT claims string is empty or malformed: {}", e.getMessage());
                 response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "Missing or malformed authentication token claims.");
                 return;
+            } catch (UsernameNotFoundException e) {
+                authFailureLog.failure(AuthFailureLog.Reason.USER_NOT_FOUND, e.getMessage());
+                response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "User associated with token not found.");
+                return;
             } catch (Exception e) { // Catch any other unexpected authentication errors
-                logger.error("An unexpected error occurred during JWT authentication: {}", e.getMessage(), e);
+                authFailureLog.failure(AuthFailureLog.Reason.OTHER, e.toString());
                 response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "Authentication token processing error.");
                 return;
             }
@@ -120,4 +135,12 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
         return null;
     }
+
+    // EventSource cannot set headers, so comment streams carry a short-lived stream ticket in the URL instead
+    private String getStreamTicketFromRequest(HttpServletRequest request) {
+        if ("GET".equals(request.getMethod()) && request.getRequestURI().startsWith("/api/comments/stream/")) {
+            return request.getParameter("ticket");
+        }
+        return null;
+    }
 }
\ No newline at end of file
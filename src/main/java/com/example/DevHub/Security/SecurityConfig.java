@@ -20,6 +20,7 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
+import jakarta.servlet.DispatcherType;
 import jakarta.servlet.http.HttpServletResponse;
 
 import java.util.Arrays;
@@ -43,10 +44,16 @@ public class SecurityConfig {
         http
                 .csrf(csrf -> csrf.disable())
                 .authorizeHttpRequests(auth -> auth
+                        // Async dispatches (comment streams completing) were already authorized on the original request
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         // Public resources and authentication endpoints
                         // Explicitly permit all static resources and your view controller paths
                         .requestMatchers("/", "/login", "/register", "/index.html", "/css/**", "/js/**", "/assets/**").permitAll()
                         .requestMatchers("/api/auth/**").permitAll() // REST API auth endpoints
+                        // Health probes are public; everything else under /actuator stays protected
+                        .requestMatchers("/actuator/health/**").permitAll()
+                        // Metrics describe endpoints, queries and pools, so the scraper authenticates as an admin (bearer JWT)
+                        .requestMatchers("/actuator/prometheus").hasRole("ADMIN")
                         // Admin Panel specific HTML (backend API will still restrict)
                         .requestMatchers("/adminpage.html").hasRole("ADMIN")
                         // All other HTML pages require authentication.
@@ -60,6 +67,8 @@ public class SecurityConfig {
                         .requestMatchers("/api/comments/**").hasAnyRole("USER", "ADMIN")
                         .requestMatchers("/api/blog-posts/**").hasAnyRole("USER", "ADMIN")
                         .requestMatchers("/api/projects/**").hasAnyRole("USER", "ADMIN")
+                        .requestMatchers("/api/feed/**").hasAnyRole("USER", "ADMIN")
+                        .requestMatchers("/api/trending/**").hasAnyRole("USER", "ADMIN")
 
                         .anyRequest().authenticated() // All other requests must be authenticated
                 )
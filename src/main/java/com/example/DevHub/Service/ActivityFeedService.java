@@ -0,0 +1,282 @@
+package com.example.DevHub.Service;
+
+import com.example.DevHub.Cache.CacheInvalidationBus;
+import com.example.DevHub.Cache.EntityType;
+import com.example.DevHub.Cache.InvalidationListener;
+import com.example.DevHub.Model.ActivityEvent;
+import com.example.DevHub.Model.ActivityType;
+import com.example.DevHub.Model.User;
+import com.example.DevHub.Repository.ActivityEventRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Activity feed with fan-out on write.
+ * Services hand events to {@link #record}, which only enqueues them, after the surrounding transaction commits.
+ * A background dispatcher persists
+ * them in batches to the append-only activity_events table and appends them to the global timeline and
+ * to the timelines of the actor and of the owner of the commented post or project.
+ * Timelines are bounded rings in memory; pages older than a ring holds are read from the table.
+ * Each persisted batch is announced on the {@link CacheInvalidationBus}, and peers pull it into their own rings.
+ */
+@Service
+public class ActivityFeedService implements InvalidationListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(ActivityFeedService.class);
+    private static final int SUMMARY_LENGTH = 200;
+    private static final long RETRY_BACKOFF_MS = 500;
+
+    private final ActivityEventRepository activityEventRepository;
+    private final CacheInvalidationBus invalidationBus;
+    private final int userCapacity;
+    private final int batchSize;
+    private final int persistAttempts;
+    private final BlockingQueue<ActivityEvent> queue;
+    private final Map<Long, ActivityRing> userTimelines;
+    private final int globalCapacity;
+    private ActivityRing globalTimeline;
+    // Smallest event ID a peer announced that the dispatcher has not pulled yet, Long.MAX_VALUE if none
+    private final AtomicLong catchUpFrom = new AtomicLong(Long.MAX_VALUE);
+
+    private volatile boolean running;
+    private Thread dispatcher;
+
+    public ActivityFeedService(ActivityEventRepository activityEventRepository,
+                               CacheInvalidationBus invalidationBus,
+                               @Value("${devhub.feed.global-capacity:1000}") int globalCapacity,
+                               @Value("${devhub.feed.user-capacity:200}") int userCapacity,
+                               @Value("${devhub.feed.max-user-timelines:10000}") int maxUserTimelines,
+                               @Value("${devhub.feed.batch-size:100}") int batchSize,
+                               @Value("${devhub.feed.queue-capacity:10000}") int queueCapacity,
+                               @Value("${devhub.feed.persist-attempts:3}") int persistAttempts) {
+        this.activityEventRepository = activityEventRepository;
+        this.invalidationBus = invalidationBus;
+        this.globalCapacity = globalCapacity;
+        this.userCapacity = userCapacity;
+        this.batchSize = batchSize;
+        this.persistAttempts = Math.max(persistAttempts, 1);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        // Least recently read user timelines are dropped first; they reload from the table on demand
+        this.userTimelines = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, ActivityRing> eldest) {
+                return size() > maxUserTimelines;
+            }
+        };
+    }
+
+    @PostConstruct
+    public void start() {
+        List<ActivityEvent> newest = activityEventRepository.findByIdLessThanOrderByIdDesc(Long.MAX_VALUE, PageRequest.of(0, globalCapacity));
+        globalTimeline = new ActivityRing(globalCapacity, newest, newest.size() < globalCapacity);
+        running = true;
+        dispatcher = new Thread(this::dispatch, "devhub-feed-dispatcher");
+        dispatcher.setDaemon(true);
+        dispatcher.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        dispatcher.join(TimeUnit.SECONDS.toMillis(10)); // Lets the dispatcher persist what is still queued
+    }
+
+    /**
+     * Records an activity. Returns immediately; persistence and fan-out happen on the dispatcher thread.
+     * Inside a transaction the event is only queued once it commits, so rolled back writes never reach the feed.
+     * @param type What happened
+     * @param actor The user who did it
+     * @param targetId The ID of the created post, project or comment
+     * @param subjectId For comments, the ID of the commented post or project, otherwise null
+     * @param ownerId For comments, the owner of the commented post or project, otherwise null
+     * @param summary A title or excerpt, truncated to fit the table
+     */
+    public void record(ActivityType type, User actor, Long targetId, Long subjectId, Long ownerId, String summary) {
+        String excerpt = summary != null && summary.length() > SUMMARY_LENGTH ? summary.substring(0, SUMMARY_LENGTH) : summary;
+        ActivityEvent event = new ActivityEvent(null, type, actor.getId(), actor.getUsername(), targetId, subjectId,
+                ownerId, excerpt, LocalDateTime.now());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(event);
+                }
+            });
+        } else {
+            enqueue(event);
+        }
+    }
+
+    private void enqueue(ActivityEvent event) {
+        if (!queue.offer(event)) {
+            logger.warn("Activity feed queue is full, dropping {} event for target {}", event.getType(), event.getTargetId());
+        }
+    }
+
+    /**
+     * Retrieves a page of the global timeline, newest first.
+     * @param beforeId Only events with a smaller ID are returned; null for the first page
+     * @param size The maximum number of events
+     * @return The events on the page
+     */
+    public List<ActivityEvent> getGlobalFeed(Long beforeId, int size) {
+        long before = beforeId != null ? beforeId : Long.MAX_VALUE;
+        List<ActivityEvent> slice = globalTimeline.slice(before, size);
+        return slice != null ? slice : activityEventRepository.findByIdLessThanOrderByIdDesc(before, PageRequest.of(0, size));
+    }
+
+    /**
+     * Retrieves a page of a user's timeline: their own activity and comments on their posts and projects.
+     * @param userId The ID of the user
+     * @param beforeId Only events with a smaller ID are returned; null for the first page
+     * @param size The maximum number of events
+     * @return The events on the page
+     */
+    public List<ActivityEvent> getUserFeed(Long userId, Long beforeId, int size) {
+        long before = beforeId != null ? beforeId : Long.MAX_VALUE;
+        ActivityRing ring;
+        // Loading under the lock means the dispatcher either sees the ring or the load sees the event
+        synchronized (userTimelines) {
+            ring = userTimelines.get(userId);
+            if (ring == null) {
+                List<ActivityEvent> newest = activityEventRepository.findUserTimeline(userId, Long.MAX_VALUE, PageRequest.of(0, userCapacity));
+                ring = new ActivityRing(userCapacity, newest, newest.size() < userCapacity);
+                userTimelines.put(userId, ring);
+            }
+        }
+        List<ActivityEvent> slice = ring.slice(before, size);
+        return slice != null ? slice : activityEventRepository.findUserTimeline(userId, before, PageRequest.of(0, size));
+    }
+
+    @Override
+    public void onInvalidation(EntityType type, Long id) {
+        if (type == EntityType.USER_ACTIVITY && id != null) {
+            forget(id);
+            return;
+        }
+        // Our own announcements are delivered synchronously on the dispatcher thread and are already in the rings
+        if (type == EntityType.ACTIVITY && id != null && Thread.currentThread() != dispatcher) {
+            catchUpFrom.accumulateAndGet(id, Math::min);
+        }
+    }
+
+    @Override
+    public void onFullFlush() {
+        // Peer batches may have been missed; re-read the most recent IDs
+        catchUpFrom.accumulateAndGet(Math.max(globalTimeline.newestId() - globalCapacity, 1L), Math::min);
+    }
+
+    // The events of a deleted user are gone from the table; drop them from the rings as well
+    private void forget(Long userId) {
+        globalTimeline.removeIf(event -> userId.equals(event.getActorId()) || userId.equals(event.getOwnerId()));
+        synchronized (userTimelines) {
+            userTimelines.remove(userId);
+            for (ActivityRing ring : userTimelines.values()) {
+                ring.removeIf(event -> userId.equals(event.getActorId()) || userId.equals(event.getOwnerId()));
+            }
+        }
+    }
+
+    private void dispatch() {
+        List<ActivityEvent> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                long from = catchUpFrom.getAndSet(Long.MAX_VALUE);
+                if (from != Long.MAX_VALUE) {
+                    // Interleaved local events are fetched again here; the rings skip duplicates
+                    fanOut(activityEventRepository.findByIdGreaterThanEqualOrderByIdAsc(from, PageRequest.of(0, globalCapacity)));
+                }
+                ActivityEvent first = queue.poll(500, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                List<ActivityEvent> saved = persist(batch);
+                if (!saved.isEmpty()) {
+                    fanOut(saved);
+                    invalidationBus.publish(EntityType.ACTIVITY, saved.get(0).getId());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                logger.error("Failed to publish {} activity events: {}", batch.size(), e.getMessage(), e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Saves a batch with one multi-row INSERT, retrying with backoff. If it keeps failing the events are saved one by one,
+     * so a single bad event does not take the others with it; only events that fail on their own are dropped.
+     */
+    private List<ActivityEvent> persist(List<ActivityEvent> batch) throws InterruptedException {
+        long backoff = RETRY_BACKOFF_MS;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return activityEventRepository.insertAll(batch);
+            } catch (RuntimeException e) {
+                // IDs handed out by a rolled back insert do not exist; keep the events new for the next try
+                batch.forEach(event -> event.setId(null));
+                if (attempt >= persistAttempts || !running) {
+                    logger.warn("Failed to persist {} activity events after {} attempts, saving them one by one: {}",
+                            batch.size(), attempt, e.getMessage());
+                    break;
+                }
+                logger.warn("Failed to persist {} activity events, retrying in {} ms: {}", batch.size(), backoff, e.getMessage());
+                Thread.sleep(backoff);
+                backoff *= 2;
+            }
+        }
+        List<ActivityEvent> saved = new ArrayList<>(batch.size());
+        for (ActivityEvent event : batch) {
+            try {
+                saved.add(activityEventRepository.save(event));
+            } catch (RuntimeException e) {
+                logger.error("Dropping activity event {}: {}", event, e.getMessage(), e);
+            }
+        }
+        return saved;
+    }
+
+    private void fanOut(List<ActivityEvent> saved) {
+        for (ActivityEvent event : saved) {
+            globalTimeline.insert(event);
+        }
+        synchronized (userTimelines) {
+            for (ActivityEvent event : saved) {
+                appendToUser(event.getActorId(), event);
+                if (event.getOwnerId() != null && !event.getOwnerId().equals(event.getActorId())) {
+                    appendToUser(event.getOwnerId(), event);
+                }
+            }
+        }
+    }
+
+    private void appendToUser(Long userId, ActivityEvent event) {
+        // Only timelines somebody has read are kept in memory; the others load from the table when needed
+        ActivityRing ring = userTimelines.get(userId);
+        if (ring != null) {
+            ring.insert(event);
+        }
+    }
+}
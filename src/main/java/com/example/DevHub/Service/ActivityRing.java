@@ -0,0 +1,94 @@
+package com.example.DevHub.Service;
+
+import com.example.DevHub.Model.ActivityEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Fixed-size timeline of the newest events, kept sorted by event ID.
+ * Events from other nodes can arrive slightly out of order, so inserts are positional.
+ * {@code complete} means nothing older exists than what the ring holds, so a short slice is final.
+ */
+class ActivityRing {
+
+    private final ActivityEvent[] events; // Circular, oldest at start
+    private int start;
+    private int size;
+    private boolean complete;
+
+    ActivityRing(int capacity, List<ActivityEvent> newestFirst, boolean complete) {
+        this.events = new ActivityEvent[capacity];
+        for (int i = newestFirst.size() - 1; i >= 0; i--) {
+            insert(newestFirst.get(i));
+        }
+        this.complete = complete;
+    }
+
+    synchronized void insert(ActivityEvent event) {
+        // Walk back from the newest event; almost always the new event belongs at the end
+        int position = size;
+        while (position > 0 && at(position - 1).getId() > event.getId()) {
+            position--;
+        }
+        if (position > 0 && at(position - 1).getId().equals(event.getId())) {
+            return; // Already present
+        }
+        if (size == events.length) {
+            complete = false; // The oldest event has to go
+            if (position == 0) {
+                return; // Older than anything we keep
+            }
+            start = (start + 1) % events.length;
+            size--;
+            position--;
+        }
+        for (int i = size; i > position; i--) {
+            events[index(i)] = at(i - 1);
+        }
+        events[index(position)] = event;
+        size++;
+    }
+
+    synchronized void removeIf(Predicate<ActivityEvent> filter) {
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            ActivityEvent event = at(i);
+            if (!filter.test(event)) {
+                events[index(kept++)] = event;
+            }
+        }
+        for (int i = kept; i < size; i++) {
+            events[index(i)] = null;
+        }
+        size = kept;
+    }
+
+    synchronized long newestId() {
+        return size > 0 ? at(size - 1).getId() : 0L;
+    }
+
+    /**
+     * Returns up to {@code limit} events older than {@code beforeId}, newest first,
+     * or null if the ring cannot answer and the caller has to go to the database.
+     */
+    synchronized List<ActivityEvent> slice(long beforeId, int limit) {
+        List<ActivityEvent> result = new ArrayList<>(Math.min(limit, size));
+        for (int i = size - 1; i >= 0 && result.size() < limit; i--) {
+            ActivityEvent event = at(i);
+            if (event.getId() < beforeId) {
+                result.add(event);
+            }
+        }
+        return result.size() == limit || complete ? result : null;
+    }
+
+    private ActivityEvent at(int position) {
+        return events[index(position)];
+    }
+
+    private int index(int position) {
+        return (start + position) % events.length;
+    }
+}
@@ -1,29 +1,51 @@
 package com.example.DevHub.Service;
 
+import com.example.DevHub.Cache.CacheInvalidationBus;
+import com.example.DevHub.Cache.EntityType;
+import com.example.DevHub.Model.ActivityType;
 import com.example.DevHub.Model.BlogPost;
+import com.example.DevHub.Model.Role;
+import com.example.DevHub.Model.TrendingType;
 import com.example.DevHub.Model.User;
 import com.example.DevHub.Repository.BlogPostRepository;
+import com.example.DevHub.dto.TermCount;
 import com.example.DevHub.exception.AuthenticationRequiredException;
 import com.example.DevHub.exception.ResourceNotFoundException;
 import com.example.DevHub.exception.UnauthorizedOperationException;
+import com.example.DevHub.exception.VersionRequiredException;
+import io.micrometer.core.annotation.Timed;
+import org.hibernate.Hibernate;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
 @Service
+@Timed("devhub.service")
 public class BlogPostService {
 
     private final BlogPostRepository blogPostRepository;
     private final UserService userService; // Injected for getCurrentUser
+    private final CacheInvalidationBus invalidationBus;
+    private final ActivityFeedService activityFeedService;
+    private final TagIndexService tagIndexService;
+    private final TrendingService trendingService;
 
     @Autowired
-    public BlogPostService(BlogPostRepository blogPostRepository, UserService userService) {
+    public BlogPostService(BlogPostRepository blogPostRepository, UserService userService, CacheInvalidationBus invalidationBus, ActivityFeedService activityFeedService, TagIndexService tagIndexService, TrendingService trendingService) {
         this.blogPostRepository = blogPostRepository;
         this.userService = userService;
+        this.invalidationBus = invalidationBus;
+        this.activityFeedService = activityFeedService;
+        this.tagIndexService = tagIndexService;
+        this.trendingService = trendingService;
     }
 
     /**
@@ -32,6 +54,7 @@ public class BlogPostService {
      * @return The saved blog post
      * @throws AuthenticationRequiredException if the authenticated user is not found
      */
+    @Transactional
     public BlogPost createBlogPost(BlogPost blogPost) {
         User currentUser = getCurrentUser();
         if (currentUser == null) {
@@ -42,31 +65,59 @@ public class BlogPostService {
         if (blogPost.getCreatedAt() == null) {
             blogPost.setCreatedAt(LocalDateTime.now());
         }
-        return blogPostRepository.save(blogPost);
+        BlogPost saved = blogPostRepository.save(blogPost);
+        tagIndexService.indexPost(saved.getId(), saved.getTags());
+        invalidationBus.publish(EntityType.BLOG_POST, saved.getId());
+        activityFeedService.record(ActivityType.BLOG_POST_CREATED, currentUser, saved.getId(), null, null, saved.getTitle());
+        return saved;
     }
 
     /**
      * Retrieves all blog posts (can be filtered by authorId).
      * @return List of all blog posts
      */
+    @Transactional(readOnly = true)
     public List<BlogPost> getAllBlogPosts() {
         return blogPostRepository.findAll();
     }
 
+    /**
+     * Retrieves one page of blog posts.
+     * @param pageable The page to retrieve
+     * @return The blog posts on the requested page
+     */
+    @Transactional(readOnly = true)
+    public List<BlogPost> getAllBlogPosts(Pageable pageable) {
+        return withTags(blogPostRepository.findAllBy(pageable));
+    }
+
     /**
      * Retrieves blog posts by a specific author ID.
      * @param authorId The ID of the author whose blogs to retrieve.
      * @return List of blog posts by the specified author.
      */
+    @Transactional(readOnly = true)
     public List<BlogPost> getBlogPostsByAuthor(Long authorId) {
         return blogPostRepository.findByAuthorId(authorId);
     }
 
+    /**
+     * Retrieves one page of blog posts by a specific author ID.
+     * @param authorId The ID of the author whose blogs to retrieve.
+     * @param pageable The page to retrieve
+     * @return The author's blog posts on the requested page.
+     */
+    @Transactional(readOnly = true)
+    public List<BlogPost> getBlogPostsByAuthor(Long authorId, Pageable pageable) {
+        return withTags(blogPostRepository.findByAuthorId(authorId, pageable));
+    }
+
     /**
      * Retrieves blog posts created by the currently authenticated user.
      * @return List of blog posts by the current user.
      * @throws AuthenticationRequiredException if no user is authenticated.
      */
+    @Transactional(readOnly = true)
     public List<BlogPost> getBlogPostsByCurrentUser() {
         User currentUser = getCurrentUser();
         if (currentUser == null) {
@@ -75,76 +126,141 @@ public class BlogPostService {
         return blogPostRepository.findByAuthorId(currentUser.getId());
     }
 
+    /**
+     * Retrieves one page of blog posts carrying a tag, newest first, through the tag index.
+     * @param tag The tag, in any case
+     * @param page The page number
+     * @param size The page size
+     * @return The blog posts on the requested page
+     */
+    @Transactional(readOnly = true)
+    public List<BlogPost> getBlogPostsByTag(String tag, int page, int size) {
+        return tagIndexService.getPostsByTag(tag, page, size);
+    }
+
+    /**
+     * Retrieves the most used tags with their post counts.
+     * @param limit The maximum number of tags
+     * @return The tags, most used first
+     */
+    @Transactional(readOnly = true)
+    public List<TermCount> getTopTags(int limit) {
+        return tagIndexService.getTopTags(limit);
+    }
+
+    /**
+     * Retrieves the tags most often used together with a tag.
+     * @param tag The tag, in any case
+     * @param limit The maximum number of tags
+     * @return The related tags with the number of shared posts
+     */
+    @Transactional(readOnly = true)
+    public List<TermCount> getRelatedTags(String tag, int limit) {
+        return tagIndexService.getRelatedTags(tag, limit);
+    }
+
     /**
      * Retrieves a blog post by ID.
      * @param id The blog post ID
      * @return Optional containing the blog post, or empty if not found
      */
+    @Transactional(readOnly = true)
     public Optional<BlogPost> getBlogPostById(Long id) {
         return blogPostRepository.findById(id);
     }
 
     /**
-     * Updates an existing blog post.
+     * Updates an existing blog post with a single statement that also checks authorship and the version.
+     * The tags are replaced afterwards, only if the post was updated.
      * @param id The blog post ID to update
-     * @param blogPostDetails The updated blog post details
+     * @param blogPostDetails The updated blog post details, with the version they were read at
      * @return The updated blog post
      * @throws ResourceNotFoundException if the blog post is not found
      * @throws UnauthorizedOperationException if the user is not authorized
      * @throws AuthenticationRequiredException if no user is authenticated
+     * @throws VersionRequiredException if no version is given
+     * @throws OptimisticLockingFailureException if the blog post changed since the given version was read
      */
+    @Transactional
     public BlogPost updateBlogPost(Long id, BlogPost blogPostDetails) {
-        BlogPost existingBlogPost = blogPostRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Blog post not found with id: " + id));
-
         User currentUser = getCurrentUser();
         if (currentUser == null) {
             throw new AuthenticationRequiredException("User must be authenticated to update a blog post.");
         }
-
-        // Check if current user is the author or an ADMIN
-        boolean isAuthor = existingBlogPost.getAuthor().getId().equals(currentUser.getId());
-        boolean isAdmin = currentUser.getAuthorities().stream()
-                .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
-
-        if (!isAuthor && !isAdmin) {
-            throw new UnauthorizedOperationException("User not authorized to update this blog post.");
+        if (blogPostDetails.getVersion() == null) {
+            throw new VersionRequiredException("Send the version of the blog post you edited, so concurrent edits are not lost.");
         }
 
-        existingBlogPost.setTitle(blogPostDetails.getTitle());
-        existingBlogPost.setContent(blogPostDetails.getContent());
-        existingBlogPost.setTags(blogPostDetails.getTags());
-        // @UpdateTimestamp in the Model will handle updatedAt automatically if present
+        // Only the author or an ADMIN may update; the condition is part of the UPDATE
+        boolean isAdmin = currentUser.hasRole(Role.ADMIN);
+        LocalDateTime now = LocalDateTime.now();
+        Optional<BlogPostRepository.WrittenPost> updated = isAdmin
+                ? blogPostRepository.updateAsAdmin(id, blogPostDetails.getVersion(), blogPostDetails.getTitle(),
+                        blogPostDetails.getContent(), now)
+                : blogPostRepository.updateAsAuthor(id, currentUser.getId(), blogPostDetails.getVersion(),
+                        blogPostDetails.getTitle(), blogPostDetails.getContent(), now);
+        if (updated.isEmpty()) {
+            throw rejection(id, currentUser, isAdmin, "update");
+        }
 
-        return blogPostRepository.save(existingBlogPost);
+        BlogPost saved = updated.get().toBlogPost();
+        List<String> tags = blogPostDetails.getTags() != null ? blogPostDetails.getTags() : new ArrayList<>();
+        blogPostRepository.deleteTags(id);
+        tags.forEach(tag -> blogPostRepository.insertTag(id, tag));
+        saved.setTags(tags);
+        tagIndexService.indexPost(id, tags);
+        invalidationBus.publish(EntityType.BLOG_POST, id);
+        return saved;
     }
 
     /**
-     * Deletes a blog post by ID.
+     * Deletes a blog post by ID, with its tags and comments, in a single statement that also checks authorship.
      * @param id The blog post ID to delete
      * @throws ResourceNotFoundException if the blog post is not found
      * @throws UnauthorizedOperationException if the user is not authorized
      * @throws AuthenticationRequiredException if no user is authenticated
      */
+    @Transactional
     public void deleteBlogPost(Long id) {
-        BlogPost blogPost = blogPostRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Blog post not found with id: " + id));
-
         User currentUser = getCurrentUser();
         if (currentUser == null) {
             throw new AuthenticationRequiredException("User must be authenticated to delete a blog post.");
         }
 
-        // Check if current user is the author or an ADMIN
-        boolean isAuthor = blogPost.getAuthor().getId().equals(currentUser.getId());
-        boolean isAdmin = currentUser.getAuthorities().stream()
-                .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
+        // Only the author or an ADMIN may delete
+        boolean isAdmin = currentUser.hasRole(Role.ADMIN);
+        int deleted = isAdmin ? blogPostRepository.deleteAsAdmin(id) : blogPostRepository.deleteAsAuthor(id, currentUser.getId());
+        if (deleted == 0) {
+            throw rejection(id, currentUser, isAdmin, "delete");
+        }
 
-        if (!isAuthor && !isAdmin) {
-            throw new UnauthorizedOperationException("User not authorized to delete this blog post.");
+        tagIndexService.removePost(id);
+        trendingService.remove(TrendingType.BLOG_POST, id);
+        invalidationBus.publish(EntityType.BLOG_POST, id);
+        invalidationBus.publish(EntityType.COMMENT, null);
+    }
+
+    /**
+     * Explains why a conditional write matched no row: the post is gone, belongs to someone else,
+     * or was changed since the caller read it.
+     */
+    private RuntimeException rejection(Long id, User currentUser, boolean isAdmin, String action) {
+        Optional<Long> authorId = blogPostRepository.findAuthorIdById(id);
+        if (authorId.isEmpty()) {
+            return new ResourceNotFoundException("Blog post not found with id: " + id);
         }
+        if (!isAdmin && !authorId.get().equals(currentUser.getId())) {
+            return new UnauthorizedOperationException("User not authorized to " + action + " this blog post.");
+        }
+        return new OptimisticLockingFailureException("Blog post " + id + " was changed by someone else; reload it and try again.");
+    }
 
-        blogPostRepository.delete(blogPost);
+    /**
+     * Loads the tags of a page of posts while the transaction is open; @BatchSize turns this into one query per page.
+     */
+    private static List<BlogPost> withTags(List<BlogPost> posts) {
+        posts.forEach(post -> Hibernate.initialize(post.getTags()));
+        return posts;
     }
 
     /**
@@ -0,0 +1,116 @@
+package com.example.DevHub.Service;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size Bloom filter over strings. Adds and lookups may run concurrently without locks: bits are only ever
+ * set, with a compare-and-set per word. The k bit positions come from two 64-bit hashes combined as h1 + i * h2.
+ */
+class BloomFilter {
+
+    private final AtomicLongArray words;
+    private final long bits;
+    private final int hashes;
+    private final long capacity;
+    private final AtomicLong entries = new AtomicLong();
+
+    private BloomFilter(long bits, int hashes, long capacity) {
+        this.words = new AtomicLongArray(Math.toIntExact(bits / Long.SIZE));
+        this.bits = bits;
+        this.hashes = hashes;
+        this.capacity = capacity;
+    }
+
+    /**
+     * Sizes a filter for the given number of entries at the given false-positive rate.
+     * @param capacity The number of entries the rate holds for
+     * @param fpp The false-positive rate at capacity, between 0 and 1
+     */
+    static BloomFilter create(long capacity, double fpp) {
+        if (fpp <= 0 || fpp >= 1) {
+            throw new IllegalArgumentException("False-positive rate must be between 0 and 1: " + fpp);
+        }
+        long n = Math.max(1, capacity);
+        long bits = (long) Math.ceil(-n * Math.log(fpp) / (Math.log(2) * Math.log(2)));
+        bits = Math.max(Long.SIZE, (bits + Long.SIZE - 1) / Long.SIZE * Long.SIZE); // Whole words
+        int hashes = Math.max(1, (int) Math.round((double) bits / n * Math.log(2)));
+        return new BloomFilter(bits, hashes, n);
+    }
+
+    void add(String key) {
+        long h1 = hash(key);
+        long h2 = mix(h1 ^ 0x9E3779B97F4A7C15L) | 1; // Odd, so the positions never collapse onto one
+        for (int i = 0; i < hashes; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bits);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current;
+            do {
+                current = words.get(word);
+            } while ((current & mask) == 0 && !words.compareAndSet(word, current, current | mask));
+        }
+        entries.incrementAndGet();
+    }
+
+    /**
+     * @return False if the key was definitely never added, true if it probably was
+     */
+    boolean mightContain(String key) {
+        long h1 = hash(key);
+        long h2 = mix(h1 ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < hashes; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bits);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return The false-positive rate expected for the entries added so far
+     */
+    double expectedFpp() {
+        return Math.pow(1 - Math.exp(-(double) hashes * entries.get() / bits), hashes);
+    }
+
+    boolean isFull() {
+        return entries.get() > capacity;
+    }
+
+    long entries() {
+        return entries.get();
+    }
+
+    long capacity() {
+        return capacity;
+    }
+
+    int hashes() {
+        return hashes;
+    }
+
+    long sizeBytes() {
+        return bits / Byte.SIZE;
+    }
+
+    // FNV-1a over the UTF-16 chars, finished with the MurmurHash3 mixer to spread short keys over all 64 bits
+    private static long hash(String key) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            h ^= key.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return mix(h);
+    }
+
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
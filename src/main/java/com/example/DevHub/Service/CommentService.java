@@ -1,37 +1,57 @@
 package com.example.DevHub.Service;
 
+import com.example.DevHub.Cache.CacheInvalidationBus;
+import com.example.DevHub.Cache.EntityType;
+import com.example.DevHub.Model.ActivityType;
 import com.example.DevHub.Model.Comment;
 import com.example.DevHub.Model.BlogPost;
 import com.example.DevHub.Model.Project;
+import com.example.DevHub.Model.Role;
+import com.example.DevHub.Model.TrendingType;
 import com.example.DevHub.Model.User;
 import com.example.DevHub.Repository.CommentRepository;
 import com.example.DevHub.Repository.BlogPostRepository; // Added for creating blog comments
 import com.example.DevHub.Repository.ProjectRepository; // Added for creating project comments
+import com.example.DevHub.dto.CommentResponse;
 import com.example.DevHub.exception.AuthenticationRequiredException;
 import com.example.DevHub.exception.ResourceNotFoundException;
 import com.example.DevHub.exception.UnauthorizedOperationException;
+import com.example.DevHub.exception.VersionRequiredException;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime; // Added for timestamp
 import java.util.List;
 import java.util.Optional;
 
 @Service
+@Timed("devhub.service")
 public class CommentService {
 
     private final CommentRepository commentRepository;
     private final BlogPostRepository blogPostRepository; // Injected
     private final ProjectRepository projectRepository;   // Injected
     private final UserService userService;               // Injected
+    private final CacheInvalidationBus invalidationBus;
+    private final ActivityFeedService activityFeedService;
+    private final CommentStreamService commentStreamService;
+    private final TrendingService trendingService;
 
     @Autowired
-    public CommentService(CommentRepository commentRepository, BlogPostRepository blogPostRepository, ProjectRepository projectRepository, UserService userService) {
+    public CommentService(CommentRepository commentRepository, BlogPostRepository blogPostRepository, ProjectRepository projectRepository, UserService userService, CacheInvalidationBus invalidationBus, ActivityFeedService activityFeedService, CommentStreamService commentStreamService, TrendingService trendingService) {
         this.commentRepository = commentRepository;
         this.blogPostRepository = blogPostRepository;
         this.projectRepository = projectRepository;
         this.userService = userService;
+        this.invalidationBus = invalidationBus;
+        this.activityFeedService = activityFeedService;
+        this.commentStreamService = commentStreamService;
+        this.trendingService = trendingService;
     }
 
     /**
@@ -42,6 +62,7 @@ public class CommentService {
      * @throws AuthenticationRequiredException if no user is authenticated
      * @throws ResourceNotFoundException if the blog post is not found
      */
+    @Transactional
     public Comment createBlogComment(Comment comment, Long blogPostId) {
         User currentUser = getCurrentUser();
         if (currentUser == null) {
@@ -54,7 +75,13 @@ public class CommentService {
         comment.setUser(currentUser);
         comment.setBlogPost(blogPost);
         comment.setCommentedAt(LocalDateTime.now()); // Ensure timestamp is set
-        return commentRepository.save(comment);
+        Comment saved = commentRepository.save(comment);
+        invalidationBus.publish(EntityType.COMMENT, saved.getId());
+        activityFeedService.record(ActivityType.BLOG_COMMENT_CREATED, currentUser, saved.getId(), blogPostId,
+                blogPost.getAuthor().getId(), saved.getContent());
+        commentStreamService.publish(CommentStreamService.COMMENT_CREATED, CommentResponse.from(saved));
+        trendingService.recordComment(TrendingType.BLOG_POST, blogPostId);
+        return saved;
     }
 
     /**
@@ -65,6 +92,7 @@ public class CommentService {
      * @throws AuthenticationRequiredException if no user is authenticated
      * @throws ResourceNotFoundException if the project is not found
      */
+    @Transactional
     public Comment createProjectComment(Comment comment, Long projectId) {
         User currentUser = getCurrentUser();
         if (currentUser == null) {
@@ -77,15 +105,32 @@ public class CommentService {
         comment.setUser(currentUser);
         comment.setProject(project);
         comment.setCommentedAt(LocalDateTime.now()); // Ensure timestamp is set
-        return commentRepository.save(comment);
+        Comment saved = commentRepository.save(comment);
+        invalidationBus.publish(EntityType.COMMENT, saved.getId());
+        activityFeedService.record(ActivityType.PROJECT_COMMENT_CREATED, currentUser, saved.getId(), projectId,
+                project.getCreatedBy().getId(), saved.getContent());
+        commentStreamService.publish(CommentStreamService.COMMENT_CREATED, CommentResponse.from(saved));
+        trendingService.recordComment(TrendingType.PROJECT, projectId);
+        return saved;
     }
 
     /**
      * Retrieves all comments.
      * @return List of all comments
      */
-    public List<Comment> getAllComments() {
-        return commentRepository.findAll();
+    @Transactional(readOnly = true)
+    public List<CommentResponse> getAllComments() {
+        return commentRepository.findAllResponses(Pageable.unpaged());
+    }
+
+    /**
+     * Retrieves one page of all comments, oldest first.
+     * @param pageable The page to retrieve
+     * @return The comments on the requested page
+     */
+    @Transactional(readOnly = true)
+    public List<CommentResponse> getAllComments(Pageable pageable) {
+        return commentRepository.findAllResponses(pageable);
     }
 
     /**
@@ -93,96 +138,138 @@ public class CommentService {
      * @param id The comment ID
      * @return Optional containing the comment, or empty if not found
      */
-    public Optional<Comment> getCommentById(Long id) {
-        return commentRepository.findById(id);
+    @Transactional(readOnly = true)
+    public Optional<CommentResponse> getCommentById(Long id) {
+        return commentRepository.findResponseById(id);
     }
 
     /**
-     * Updates an existing comment.
+     * Updates an existing comment with a single statement that also checks ownership and the version.
      * @param id The comment ID to update
-     * @param commentDetails The updated comment details
+     * @param commentDetails The updated comment details, with the version they were read at
      * @return The updated comment
      * @throws ResourceNotFoundException if the comment is not found
      * @throws UnauthorizedOperationException if the user is not authorized
      * @throws AuthenticationRequiredException if no user is authenticated
+     * @throws VersionRequiredException if no version is given
+     * @throws OptimisticLockingFailureException if the comment changed since the given version was read
+     * @throws IllegalStateException if the new content is blank
      */
-    public Comment updateComment(Long id, Comment commentDetails) {
-        Comment existingComment = commentRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Comment not found with id: " + id));
-
+    @Transactional
+    public CommentResponse updateComment(Long id, Comment commentDetails) {
         User currentUser = getCurrentUser();
         if (currentUser == null) {
             throw new AuthenticationRequiredException("User must be authenticated to update a comment.");
         }
+        if (commentDetails.getContent() == null || commentDetails.getContent().isBlank()) {
+            throw new IllegalStateException("Comment content is required");
+        }
+        if (commentDetails.getVersion() == null) {
+            throw new VersionRequiredException("Send the version of the comment you edited, so concurrent edits are not lost.");
+        }
 
         // Only the original author or an ADMIN can update a comment
-        if (!existingComment.getUser().getId().equals(currentUser.getId()) && !currentUser.getRoles().contains("ADMIN")) {
-            throw new UnauthorizedOperationException("User not authorized to update this comment.");
+        boolean isAdmin = currentUser.hasRole(Role.ADMIN);
+        Optional<CommentRepository.WrittenComment> updated = isAdmin
+                ? commentRepository.updateAsAdmin(id, commentDetails.getVersion(), commentDetails.getContent())
+                : commentRepository.updateAsAuthor(id, currentUser.getId(), commentDetails.getVersion(), commentDetails.getContent());
+        if (updated.isEmpty()) {
+            throw rejection(id, currentUser, isAdmin, "update");
         }
-
-        existingComment.setContent(commentDetails.getContent());
-        // UpdatedAt will be handled automatically if @UpdateTimestamp was added, otherwise manual
-        return commentRepository.save(existingComment);
+        CommentResponse response = updated.get().toResponse();
+        invalidationBus.publish(EntityType.COMMENT, id);
+        commentStreamService.publish(CommentStreamService.COMMENT_UPDATED, response);
+        return response;
     }
 
     /**
-     * Deletes a comment by ID.
+     * Deletes a comment by ID with a single statement that also checks ownership.
      * @param id The comment ID to delete
      * @throws ResourceNotFoundException if the comment is not found
      * @throws UnauthorizedOperationException if the user is not authorized
      * @throws AuthenticationRequiredException if no user is authenticated
      */
+    @Transactional
     public void deleteComment(Long id) {
-        Comment comment = commentRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Comment not found with id: " + id));
-
         User currentUser = getCurrentUser();
         if (currentUser == null) {
             throw new AuthenticationRequiredException("User must be authenticated to delete a comment.");
         }
 
         // Only the original author or an ADMIN can delete a comment
-        if (!comment.getUser().getId().equals(currentUser.getId()) && !currentUser.getRoles().contains("ADMIN")) {
-            throw new UnauthorizedOperationException("User not authorized to delete this comment.");
+        boolean isAdmin = currentUser.hasRole(Role.ADMIN);
+        Optional<CommentRepository.WrittenComment> deleted = isAdmin
+                ? commentRepository.deleteAsAdmin(id)
+                : commentRepository.deleteAsAuthor(id, currentUser.getId());
+        if (deleted.isEmpty()) {
+            throw rejection(id, currentUser, isAdmin, "delete");
         }
-
-        commentRepository.delete(comment);
+        invalidationBus.publish(EntityType.COMMENT, id);
+        commentStreamService.publish(CommentStreamService.COMMENT_DELETED, deleted.get().toResponse());
     }
 
     /**
-     * Retrieves comments for a specific blog post.
+     * Retrieves one page of comments for a specific blog post, oldest first.
      * @param blogPostId The ID of the blog post
-     * @return List of comments for the blog post
+     * @param pageable The page to retrieve, or Pageable.unpaged() for all of them
+     * @return The comments on the requested page
      * @throws ResourceNotFoundException if blog post not found
      */
-    public List<Comment> getCommentsByBlogPostId(Long blogPostId) {
-        BlogPost blogPost = blogPostRepository.findById(blogPostId)
-                .orElseThrow(() -> new ResourceNotFoundException("Blog post not found with id: " + blogPostId));
-        return commentRepository.findByBlogPost(blogPost);
+    @Transactional(readOnly = true)
+    public List<CommentResponse> getCommentsByBlogPostId(Long blogPostId, Pageable pageable) {
+        List<CommentResponse> comments = commentRepository.findResponsesByBlogPostId(blogPostId, pageable);
+        // Only an empty page needs the extra query to tell a missing post from one without comments
+        if (comments.isEmpty() && !blogPostRepository.existsById(blogPostId)) {
+            throw new ResourceNotFoundException("Blog post not found with id: " + blogPostId);
+        }
+        return comments;
     }
 
     /**
-     * Retrieves comments for a specific project.
+     * Retrieves one page of comments for a specific project, oldest first.
      * @param projectId The ID of the project
-     * @return List of comments for the project
+     * @param pageable The page to retrieve, or Pageable.unpaged() for all of them
+     * @return The comments on the requested page
      * @throws ResourceNotFoundException if project not found
      */
-    public List<Comment> getCommentsByProjectId(Long projectId) {
-        Project project = projectRepository.findById(projectId)
-                .orElseThrow(() -> new ResourceNotFoundException("Project not found with id: " + projectId));
-        return commentRepository.findByProject(project);
+    @Transactional(readOnly = true)
+    public List<CommentResponse> getCommentsByProjectId(Long projectId, Pageable pageable) {
+        List<CommentResponse> comments = commentRepository.findResponsesByProjectId(projectId, pageable);
+        if (comments.isEmpty() && !projectRepository.existsById(projectId)) {
+            throw new ResourceNotFoundException("Project not found with id: " + projectId);
+        }
+        return comments;
     }
 
     /**
-     * Retrieves comments made by a specific user.
+     * Retrieves one page of comments made by a specific user, oldest first.
      * @param userId The ID of the user
-     * @return List of comments by the user
+     * @param pageable The page to retrieve, or Pageable.unpaged() for all of them
+     * @return The comments on the requested page
      * @throws ResourceNotFoundException if user not found
      */
-    public List<Comment> getCommentsByUserId(Long userId) {
-        User user = userService.getById(userId)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
-        return commentRepository.findByUser(user);
+    @Transactional(readOnly = true)
+    public List<CommentResponse> getCommentsByUserId(Long userId, Pageable pageable) {
+        List<CommentResponse> comments = commentRepository.findResponsesByUserId(userId, pageable);
+        if (comments.isEmpty() && userService.getById(userId).isEmpty()) {
+            throw new ResourceNotFoundException("User not found with id: " + userId);
+        }
+        return comments;
+    }
+
+    /**
+     * Explains why a conditional write matched no row: the comment is gone, belongs to someone else,
+     * or was changed since the caller read it.
+     */
+    private RuntimeException rejection(Long id, User currentUser, boolean isAdmin, String action) {
+        Optional<Long> ownerId = commentRepository.findUserIdById(id);
+        if (ownerId.isEmpty()) {
+            return new ResourceNotFoundException("Comment not found with id: " + id);
+        }
+        if (!isAdmin && !ownerId.get().equals(currentUser.getId())) {
+            return new UnauthorizedOperationException("User not authorized to " + action + " this comment.");
+        }
+        return new OptimisticLockingFailureException("Comment " + id + " was changed by someone else; reload it and try again.");
     }
 
     /**
@@ -0,0 +1,285 @@
+package com.example.DevHub.Service;
+
+import com.example.DevHub.Cache.BusMessageListener;
+import com.example.DevHub.Cache.CacheInvalidationBus;
+import com.example.DevHub.Repository.BlogPostRepository;
+import com.example.DevHub.Repository.CommentRepository;
+import com.example.DevHub.Repository.ProjectRepository;
+import com.example.DevHub.dto.CommentResponse;
+import com.example.DevHub.exception.ResourceNotFoundException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes comment changes to clients subscribed to a blog post or project over Server-Sent Events.
+ * Subscribers are kept per topic in concurrent sets, and an idle subscriber holds no thread, only its async request.
+ * Each event is serialized once and sent through the {@link CacheInvalidationBus}, so every node, this one included,
+ * writes it to the subscribers connected to it. Each subscriber has its own queue, drained in order on a virtual
+ * thread, so a created, updated, deleted sequence arrives as such and a slow client cannot hold up the others, the
+ * bus or the request that made the change; one that falls {@code devhub.comments.stream.max-pending} events behind
+ * is disconnected and left to reconnect.
+ * A comment too large for a bus message travels as its ID and is read back by the nodes that have subscribers.
+ * Like invalidations, events sent while a node is disconnected from the bus do not reach its subscribers.
+ */
+@Service
+public class CommentStreamService implements BusMessageListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(CommentStreamService.class);
+
+    public static final String COMMENT_CREATED = "comment-created";
+    public static final String COMMENT_UPDATED = "comment-updated";
+    public static final String COMMENT_DELETED = "comment-deleted";
+
+    private static final String BUS_TOPIC = "comments";
+    // Prefixes the comment ID in place of the JSON when the comment is too large for a bus message
+    private static final String BY_ID = "#";
+
+    private final BlogPostRepository blogPostRepository;
+    private final ProjectRepository projectRepository;
+    private final CommentRepository commentRepository;
+    private final CacheInvalidationBus invalidationBus;
+    private final ObjectMapper objectMapper;
+    private final long timeoutMillis;
+    private final int maxPending;
+    private final ConcurrentHashMap<String, Set<Subscription>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+
+    public CommentStreamService(BlogPostRepository blogPostRepository,
+                                ProjectRepository projectRepository,
+                                CommentRepository commentRepository,
+                                CacheInvalidationBus invalidationBus,
+                                ObjectMapper objectMapper,
+                                MeterRegistry meterRegistry,
+                                @Value("${devhub.comments.stream.timeout-ms:1800000}") long timeoutMillis,
+                                @Value("${devhub.comments.stream.max-pending:256}") int maxPending) {
+        this.blogPostRepository = blogPostRepository;
+        this.projectRepository = projectRepository;
+        this.commentRepository = commentRepository;
+        this.invalidationBus = invalidationBus;
+        this.objectMapper = objectMapper;
+        this.timeoutMillis = timeoutMillis;
+        this.maxPending = maxPending;
+        Gauge.builder("devhub.comments.stream.subscribers", subscriberCount, AtomicInteger::get)
+                .description("Open comment stream connections on this node")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Subscribes to comment changes on a blog post.
+     * @param blogPostId The ID of the blog post
+     * @return The emitter the events are written to
+     * @throws ResourceNotFoundException if the blog post is not found
+     */
+    public SseEmitter subscribeToBlogPost(Long blogPostId) {
+        if (!blogPostRepository.existsById(blogPostId)) {
+            throw new ResourceNotFoundException("Blog post not found with id: " + blogPostId);
+        }
+        return subscribe(blogTopic(blogPostId));
+    }
+
+    /**
+     * Subscribes to comment changes on a project.
+     * @param projectId The ID of the project
+     * @return The emitter the events are written to
+     * @throws ResourceNotFoundException if the project is not found
+     */
+    public SseEmitter subscribeToProject(Long projectId) {
+        if (!projectRepository.existsById(projectId)) {
+            throw new ResourceNotFoundException("Project not found with id: " + projectId);
+        }
+        return subscribe(projectTopic(projectId));
+    }
+
+    /**
+     * Publishes a comment change to the subscribers of the post or project it belongs to, on every node.
+     * Inside a transaction the event is held back until the commit, so clients never see a change that rolled back.
+     * @param eventName One of the COMMENT_* event names
+     * @param comment The comment that changed; its blog post or project ID selects the subscribers
+     */
+    public void publish(String eventName, CommentResponse comment) {
+        String topic = comment.getBlogPostId() != null ? blogTopic(comment.getBlogPostId())
+                : comment.getProjectId() != null ? projectTopic(comment.getProjectId()) : null;
+        if (topic == null) {
+            return;
+        }
+        try {
+            String message = eventName + "|" + topic + "|" + objectMapper.writeValueAsString(comment);
+            if (message.getBytes(StandardCharsets.UTF_8).length > CacheInvalidationBus.MAX_MESSAGE_BYTES) {
+                // A deleted comment cannot be read back; its subscribers only need to know which one went
+                message = COMMENT_DELETED.equals(eventName)
+                        ? eventName + "|" + topic + "|" + objectMapper.writeValueAsString(withoutContent(comment))
+                        : eventName + "|" + topic + "|" + BY_ID + comment.getId();
+            }
+            invalidationBus.send(BUS_TOPIC, message);
+        } catch (JsonProcessingException e) {
+            logger.warn("Failed to serialize comment {} for streaming: {}", comment.getId(), e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(String busTopic, String message) {
+        if (!BUS_TOPIC.equals(busTopic)) {
+            return;
+        }
+        String[] parts = message.split("\\|", 3);
+        if (parts.length < 3 || !subscribers.containsKey(parts[1])) {
+            return; // Nobody on this node is listening
+        }
+        String data = parts[2];
+        if (data.startsWith(BY_ID)) {
+            try {
+                CommentResponse comment = commentRepository.findResponseById(Long.valueOf(data.substring(BY_ID.length())))
+                        .orElse(null);
+                if (comment == null) {
+                    return; // Deleted since; its own event follows
+                }
+                data = objectMapper.writeValueAsString(comment);
+            } catch (RuntimeException | JsonProcessingException e) {
+                logger.warn("Failed to load comment {} for streaming: {}", data, e.getMessage());
+                return;
+            }
+        }
+        broadcast(parts[1], parts[0], data);
+    }
+
+    /**
+     * Sends a comment line to every subscriber. This keeps proxies from closing idle connections
+     * and detects clients that went away without closing theirs.
+     */
+    @Scheduled(fixedDelayString = "${devhub.comments.stream.heartbeat-ms:20000}")
+    public void heartbeat() {
+        Set<ResponseBodyEmitter.DataWithMediaType> ping = SseEmitter.event().comment("ping").build();
+        subscribers.values().forEach(subscriptions -> subscriptions.forEach(subscription -> subscription.enqueue(ping)));
+    }
+
+    @PreDestroy
+    public void stop() {
+        senders.shutdownNow();
+        subscribers.values().forEach(subscriptions -> subscriptions.forEach(subscription -> subscription.emitter.complete()));
+        subscribers.clear();
+    }
+
+    private SseEmitter subscribe(String topic) {
+        Subscription subscription = new Subscription(topic, new SseEmitter(timeoutMillis));
+        // compute runs atomically with the removal in unsubscribe, so a topic is never dropped while being joined
+        subscribers.compute(topic, (key, subscriptions) -> {
+            Set<Subscription> set = subscriptions != null ? subscriptions : ConcurrentHashMap.newKeySet();
+            set.add(subscription);
+            return set;
+        });
+        subscriberCount.incrementAndGet();
+        SseEmitter emitter = subscription.emitter;
+        emitter.onCompletion(() -> unsubscribe(subscription));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> unsubscribe(subscription));
+        return emitter;
+    }
+
+    private void unsubscribe(Subscription subscription) {
+        subscribers.computeIfPresent(subscription.topic, (key, subscriptions) -> {
+            if (subscriptions.remove(subscription)) {
+                subscriberCount.decrementAndGet();
+            }
+            return subscriptions.isEmpty() ? null : subscriptions;
+        });
+    }
+
+    private void broadcast(String topic, String eventName, String data) {
+        Set<Subscription> subscriptions = subscribers.get(topic);
+        if (subscriptions == null) {
+            return;
+        }
+        // Built once and shared; the builder itself is not safe to reuse across sends
+        Set<ResponseBodyEmitter.DataWithMediaType> event = SseEmitter.event().name(eventName).data(data, MediaType.APPLICATION_JSON).build();
+        for (Subscription subscription : subscriptions) {
+            subscription.enqueue(event);
+        }
+    }
+
+    /**
+     * One client's stream. Events are queued and written by at most one sender task at a time, which drains the
+     * queue in order and exits once it is empty; the next event then starts a new task.
+     */
+    private final class Subscription {
+        private final String topic;
+        private final SseEmitter emitter;
+        private final Queue<Set<ResponseBodyEmitter.DataWithMediaType>> pending = new ConcurrentLinkedQueue<>();
+        // Events queued but not yet sent; whoever raises it from zero starts the sender
+        private final AtomicInteger queued = new AtomicInteger();
+        private volatile boolean closed;
+
+        private Subscription(String topic, SseEmitter emitter) {
+            this.topic = topic;
+            this.emitter = emitter;
+        }
+
+        void enqueue(Set<ResponseBodyEmitter.DataWithMediaType> event) {
+            if (closed) {
+                return;
+            }
+            if (queued.get() >= maxPending) {
+                close(new IOException("Comment stream subscriber fell " + maxPending + " events behind"));
+                return;
+            }
+            pending.add(event);
+            if (queued.getAndIncrement() == 0) {
+                senders.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            do {
+                Set<ResponseBodyEmitter.DataWithMediaType> event = pending.poll();
+                if (!closed) {
+                    try {
+                        emitter.send(event);
+                    } catch (IOException | IllegalStateException e) {
+                        close(e);
+                    }
+                }
+            } while (queued.decrementAndGet() > 0);
+        }
+
+        private void close(Exception cause) {
+            closed = true;
+            // The client is gone or too slow; completing the emitter releases its request
+            unsubscribe(this);
+            emitter.completeWithError(cause);
+        }
+    }
+
+    private static CommentResponse withoutContent(CommentResponse comment) {
+        return new CommentResponse(comment.getId(), null, comment.getCommentedAt(), comment.getUserId(),
+                comment.getUsername(), comment.getBlogPostId(), comment.getProjectId(), comment.getVersion());
+    }
+
+    private static String blogTopic(Long blogPostId) {
+        return "blog:" + blogPostId;
+    }
+
+    private static String projectTopic(Long projectId) {
+        return "project:" + projectId;
+    }
+}
@@ -1,7 +1,9 @@
 package com.example.DevHub.Service;
 
+import com.example.DevHub.Config.JitWarmup;
 import com.example.DevHub.Model.User; // Added import for User model
 import com.example.DevHub.Repository.UserRepository; // Added import for UserRepository
+import com.example.DevHub.Security.AuthFailureLog;
 import com.example.DevHub.exception.ResourceNotFoundException; // Added for exception
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException; // Added
@@ -10,9 +12,9 @@ import io.jsonwebtoken.MalformedJwtException; // Added
 import io.jsonwebtoken.SignatureException; // Added
 import io.jsonwebtoken.UnsupportedJwtException; // Added
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.annotation.PostConstruct;
-import org.slf4j.Logger; // Added
-import org.slf4j.LoggerFactory; // Added
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
@@ -24,19 +26,49 @@ import java.util.stream.Collectors;
 @Component
 public class JwtService {
 
-    private static final Logger logger = LoggerFactory.getLogger(JwtService.class); // Added logger
+    // Audience of stream tickets; tokens carrying it are refused everywhere except on the comment streams
+    private static final String STREAM_AUDIENCE = "devhub-comment-stream";
 
     private final String jwtSecret;
     private final long jwtExpirationMs;
+    private final long streamTicketMs;
     private SecretKey secretKey;
+
+    // Validation outcomes by exception type, registered once so the hot path only increments
+    private final Counter validTokens;
+    private final Counter signatureFailures;
+    private final Counter malformedTokens;
+    private final Counter expiredTokens;
+    private final Counter unsupportedTokens;
+    private final Counter emptyTokens;
+    private final Counter otherFailures;
+    private final AuthFailureLog authFailureLog;
     // UserRepository is generally not needed here if User object is passed directly
     // private final UserRepository userRepository;
 
     // Removed UserRepository from constructor, pass User object directly to generateToken
-    public JwtService(@Value("${jwt.secret}") String jwtSecret, @Value("${jwt.expirationMs}") long jwtExpirationMs) {
+    public JwtService(@Value("${jwt.secret}") String jwtSecret, @Value("${jwt.expirationMs}") long jwtExpirationMs,
+                      @Value("${devhub.comments.stream.ticket-ms:30000}") long streamTicketMs,
+                      MeterRegistry meterRegistry, AuthFailureLog authFailureLog) {
         this.jwtSecret = jwtSecret;
         this.jwtExpirationMs = jwtExpirationMs;
+        this.streamTicketMs = streamTicketMs;
+        this.authFailureLog = authFailureLog;
         // this.userRepository = userRepository; // Removed
+        this.validTokens = validationCounter(meterRegistry, "valid");
+        this.signatureFailures = validationCounter(meterRegistry, SignatureException.class.getSimpleName());
+        this.malformedTokens = validationCounter(meterRegistry, MalformedJwtException.class.getSimpleName());
+        this.expiredTokens = validationCounter(meterRegistry, ExpiredJwtException.class.getSimpleName());
+        this.unsupportedTokens = validationCounter(meterRegistry, UnsupportedJwtException.class.getSimpleName());
+        this.emptyTokens = validationCounter(meterRegistry, IllegalArgumentException.class.getSimpleName());
+        this.otherFailures = validationCounter(meterRegistry, "other");
+    }
+
+    private static Counter validationCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("devhub.jwt.validations")
+                .description("JWT validation attempts by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
     }
 
     @PostConstruct
@@ -65,34 +97,86 @@ public class JwtService {
     }
 
     public String getUsernameFromToken(String token) {
+        return parseAccessToken(token).getSubject();
+    }
+
+    // Access tokens carry no audience, so stream tickets are refused here
+    private Claims parseAccessToken(String token) {
         Claims claims = Jwts.parser()
                 .verifyWith(secretKey)
                 .build()
                 .parseSignedClaims(token)
                 .getPayload();
-        return claims.getSubject();
+        if (claims.getAudience() != null && !claims.getAudience().isEmpty()) {
+            throw new UnsupportedJwtException("Stream tickets are not accepted as access tokens");
+        }
+        return claims;
+    }
+
+    /**
+     * Issues a ticket for opening comment streams. EventSource cannot send an Authorization header, so the ticket
+     * travels in the URL, where it ends up in access and proxy logs; it is therefore only good for a few seconds
+     * and only on the stream endpoints, never as an access token.
+     * @param username The authenticated user the ticket is for
+     * @return The signed ticket
+     */
+    public String generateStreamTicket(String username) {
+        return Jwts.builder()
+                .subject(username)
+                .audience().add(STREAM_AUDIENCE).and()
+                .issuedAt(new Date())
+                .expiration(new Date(System.currentTimeMillis() + streamTicketMs))
+                .signWith(secretKey)
+                .compact();
+    }
+
+    /**
+     * Validates a stream ticket and returns the user it was issued to.
+     * @param ticket The ticket from the stream URL
+     * @return The username
+     * @throws io.jsonwebtoken.JwtException if the ticket is invalid, expired or not a stream ticket
+     */
+    public String getUsernameFromStreamTicket(String ticket) {
+        return Jwts.parser()
+                .verifyWith(secretKey)
+                .requireAudience(STREAM_AUDIENCE)
+                .build()
+                .parseSignedClaims(ticket)
+                .getPayload()
+                .getSubject();
+    }
+
+    public long getStreamTicketMs() {
+        return streamTicketMs;
     }
 
-    // Improved error logging for validateToken
+    // Failures are counted and sampled through AuthFailureLog rather than logged one by one
     public boolean validateToken(String token) {
         try {
-            Jwts.parser()
-                    .verifyWith(secretKey)
-                    .build()
-                    .parseSignedClaims(token);
+            parseAccessToken(token);
+            // The warm-up only validates tokens it generated itself; they are not logins
+            if (!JitWarmup.inProgress()) {
+                validTokens.increment();
+            }
             return true;
         } catch (SignatureException e) {
-            logger.error("Invalid JWT signature: {}", e.getMessage());
+            signatureFailures.increment();
+            authFailureLog.failure(AuthFailureLog.Reason.SIGNATURE, e.getMessage());
         } catch (MalformedJwtException e) {
-            logger.error("Invalid JWT token: {}", e.getMessage());
+            malformedTokens.increment();
+            authFailureLog.failure(AuthFailureLog.Reason.MALFORMED, e.getMessage());
         } catch (ExpiredJwtException e) {
-            logger.error("Expired JWT token: {}", e.getMessage());
+            expiredTokens.increment();
+            authFailureLog.failure(AuthFailureLog.Reason.EXPIRED, e.getMessage());
         } catch (UnsupportedJwtException e) {
-            logger.error("Unsupported JWT token: {}", e.getMessage());
+            unsupportedTokens.increment();
+            authFailureLog.failure(AuthFailureLog.Reason.UNSUPPORTED, e.getMessage());
         } catch (IllegalArgumentException e) {
-            logger.error("JWT claims string is empty: {}", e.getMessage());
+            emptyTokens.increment();
+            authFailureLog.failure(AuthFailureLog.Reason.EMPTY, e.getMessage());
         } catch (Exception e) { // Catch any other unexpected exception
-            logger.error("An unexpected error occurred during JWT validation: {}", e.getMessage());
+            otherFailures.increment();
+            authFailureLog.failure(AuthFailureLog.Reason.OTHER, e.getMessage());
         }
         return false;
     }
@@ -1,30 +1,50 @@
 package com.example.DevHub.Service;
 
+import com.example.DevHub.Cache.CacheInvalidationBus;
+import com.example.DevHub.Cache.EntityType;
+import com.example.DevHub.Model.ActivityType;
 import com.example.DevHub.Model.Project;
+import com.example.DevHub.Model.Role;
+import com.example.DevHub.Model.TrendingType;
 import com.example.DevHub.Model.User;
 import com.example.DevHub.Repository.ProjectRepository;
+import com.example.DevHub.dto.ProjectFacetResponse;
 import com.example.DevHub.exception.AuthenticationRequiredException;
 import com.example.DevHub.exception.ResourceNotFoundException;
 import com.example.DevHub.exception.UnauthorizedOperationException;
+import com.example.DevHub.exception.VersionRequiredException;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.Authentication; // Added import for Authentication
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 @Service
+@Timed("devhub.service")
 public class ProjectService {
 
     private final ProjectRepository projectRepository;
     private final UserService userService; // Injected for getCurrentUser
+    private final CacheInvalidationBus invalidationBus;
+    private final ActivityFeedService activityFeedService;
+    private final TechnologyIndexService technologyIndexService;
+    private final TrendingService trendingService;
 
     @Autowired
-    public ProjectService(ProjectRepository projectRepository, UserService userService) {
+    public ProjectService(ProjectRepository projectRepository, UserService userService, CacheInvalidationBus invalidationBus, ActivityFeedService activityFeedService, TechnologyIndexService technologyIndexService, TrendingService trendingService) {
         this.projectRepository = projectRepository;
         this.userService = userService;
+        this.invalidationBus = invalidationBus;
+        this.activityFeedService = activityFeedService;
+        this.technologyIndexService = technologyIndexService;
+        this.trendingService = trendingService;
     }
 
     /**
@@ -33,6 +53,7 @@ public class ProjectService {
      * @return The saved project
      * @throws AuthenticationRequiredException if the authenticated user is not found
      */
+    @Transactional
     public Project createProject(Project project) {
         User currentUser = getCurrentUser();
         if (currentUser == null) {
@@ -44,92 +65,137 @@ public class ProjectService {
         if (project.getCreatedAt() == null) { // Assuming you added createdAt to Project model based on previous analysis
             project.setCreatedAt(LocalDateTime.now());
         }
-        return projectRepository.save(project);
+        Project saved = projectRepository.save(project);
+        technologyIndexService.indexProject(saved.getId(), saved.getTechStack());
+        invalidationBus.publish(EntityType.PROJECT, saved.getId());
+        activityFeedService.record(ActivityType.PROJECT_CREATED, currentUser, saved.getId(), null, null, saved.getTitle());
+        return saved;
     }
 
     /**
      * Retrieves all projects.
      * @return List of all projects
      */
+    @Transactional(readOnly = true)
     public List<Project> getAllProjects() {
         return projectRepository.findAll();
     }
 
+    /**
+     * Retrieves one page of projects.
+     * @param pageable The page to retrieve
+     * @return The projects on the requested page
+     */
+    @Transactional(readOnly = true)
+    public List<Project> getAllProjects(Pageable pageable) {
+        return projectRepository.findAllBy(pageable);
+    }
+
+    /**
+     * Finds projects by technology through the technology index.
+     * @param technologies The requested technologies; empty to browse all projects
+     * @param matchAll True to require every technology, false to require any of them
+     * @param page The page number
+     * @param size The page size
+     * @param facetLimit The maximum number of facet counts
+     * @return The matching projects with the total and the per-technology counts
+     */
+    @Transactional(readOnly = true)
+    public ProjectFacetResponse searchByTechnologies(List<String> technologies, boolean matchAll, int page, int size, int facetLimit) {
+        return technologyIndexService.search(technologies, matchAll, page, size, facetLimit);
+    }
+
     /**
      * Retrieves a project by ID.
      * @param id The project ID
      * @return Optional containing the project, or empty if not found
      */
+    @Transactional(readOnly = true)
     public Optional<Project> getProjectById(Long id) {
         return projectRepository.findById(id);
     }
 
     /**
-     * Updates an existing project.
+     * Updates an existing project with a single statement that also checks the creator and the version.
      * @param id The project ID to update
-     * @param projectDetails The updated project details
+     * @param projectDetails The updated project details, with the version they were read at
      * @return The updated project
      * @throws ResourceNotFoundException if the project is not found
      * @throws UnauthorizedOperationException if the user is not authorized
      * @throws AuthenticationRequiredException if no user is authenticated
+     * @throws VersionRequiredException if no version is given
+     * @throws OptimisticLockingFailureException if the project changed since the given version was read
      */
+    @Transactional
     public Project updateProject(Long id, Project projectDetails) {
-        Project existingProject = projectRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Project not found with id: " + id));
-
         User currentUser = getCurrentUser();
         if (currentUser == null) {
             throw new AuthenticationRequiredException("User must be authenticated to update a project.");
         }
-
-        // Check if current user is the creator or has ROLE_ADMIN
-        // getAuthorities() will provide roles prefixed with "ROLE_" from CustomUserDetailsService
-        boolean isCreator = existingProject.getCreatedBy().getId().equals(currentUser.getId());
-        boolean isAdmin = currentUser.getAuthorities().stream()
-                .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
-
-        if (!isCreator && !isAdmin) {
-            throw new UnauthorizedOperationException("User not authorized to update this project.");
+        if (projectDetails.getVersion() == null) {
+            throw new VersionRequiredException("Send the version of the project you edited, so concurrent edits are not lost.");
         }
 
-        // Update fields that can be changed
-        existingProject.setTitle(projectDetails.getTitle());
-        existingProject.setDescription(projectDetails.getDescription());
-        existingProject.setUrl(projectDetails.getUrl());
-        existingProject.setTechStack(projectDetails.getTechStack());
-        existingProject.setDemoUrl(projectDetails.getDemoUrl()); // Ensure Project model has getDemoUrl()
-
-        // @UpdateTimestamp in the Model will handle updatedAt automatically if present
+        // Only the creator or an ADMIN may update; the condition is part of the UPDATE
+        boolean isAdmin = currentUser.hasRole(Role.ADMIN);
+        LocalDateTime now = LocalDateTime.now();
+        Optional<ProjectRepository.WrittenProject> updated = isAdmin
+                ? projectRepository.updateAsAdmin(id, projectDetails.getVersion(), projectDetails.getTitle(),
+                        projectDetails.getDescription(), projectDetails.getUrl(), projectDetails.getDemoUrl(),
+                        projectDetails.getTechStack(), now)
+                : projectRepository.updateAsCreator(id, currentUser.getId(), projectDetails.getVersion(),
+                        projectDetails.getTitle(), projectDetails.getDescription(), projectDetails.getUrl(),
+                        projectDetails.getDemoUrl(), projectDetails.getTechStack(), now);
+        if (updated.isEmpty()) {
+            throw rejection(id, currentUser, isAdmin, "update");
+        }
 
-        return projectRepository.save(existingProject);
+        Project saved = updated.get().toProject();
+        technologyIndexService.indexProject(id, saved.getTechStack());
+        invalidationBus.publish(EntityType.PROJECT, id);
+        return saved;
     }
 
     /**
-     * Deletes a project by ID.
+     * Deletes a project by ID, with its comments, in a single statement that also checks the creator.
      * @param id The project ID to delete
      * @throws ResourceNotFoundException if the project is not found
      * @throws UnauthorizedOperationException if the user is not authorized
      * @throws AuthenticationRequiredException if no user is authenticated
      */
+    @Transactional
     public void deleteProject(Long id) {
-        Project project = projectRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Project not found with id: " + id));
-
         User currentUser = getCurrentUser();
         if (currentUser == null) {
             throw new AuthenticationRequiredException("User must be authenticated to delete a project.");
         }
 
-        // Check if current user is the creator or has ROLE_ADMIN
-        boolean isCreator = project.getCreatedBy().getId().equals(currentUser.getId());
-        boolean isAdmin = currentUser.getAuthorities().stream()
-                .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
-
-        if (!isCreator && !isAdmin) {
-            throw new UnauthorizedOperationException("User not authorized to delete this project.");
+        // Only the creator or an ADMIN may delete
+        boolean isAdmin = currentUser.hasRole(Role.ADMIN);
+        int deleted = isAdmin ? projectRepository.deleteAsAdmin(id) : projectRepository.deleteAsCreator(id, currentUser.getId());
+        if (deleted == 0) {
+            throw rejection(id, currentUser, isAdmin, "delete");
         }
 
-        projectRepository.delete(project);
+        technologyIndexService.removeProject(id);
+        trendingService.remove(TrendingType.PROJECT, id);
+        invalidationBus.publish(EntityType.PROJECT, id);
+        invalidationBus.publish(EntityType.COMMENT, null);
+    }
+
+    /**
+     * Explains why a conditional write matched no row: the project is gone, belongs to someone else,
+     * or was changed since the caller read it.
+     */
+    private RuntimeException rejection(Long id, User currentUser, boolean isAdmin, String action) {
+        Optional<Long> creatorId = projectRepository.findCreatorIdById(id);
+        if (creatorId.isEmpty()) {
+            return new ResourceNotFoundException("Project not found with id: " + id);
+        }
+        if (!isAdmin && !creatorId.get().equals(currentUser.getId())) {
+            return new UnauthorizedOperationException("User not authorized to " + action + " this project.");
+        }
+        return new OptimisticLockingFailureException("Project " + id + " was changed by someone else; reload it and try again.");
     }
 
     /**
@@ -161,6 +227,7 @@ public class ProjectService {
         return null; // Or throw an IllegalArgumentException for an unexpected principal type
     }
     // In ProjectService.java
+    @Transactional(readOnly = true)
     public List<Project> getProjectsByCurrentUser() {
         User currentUser = getCurrentUser();
         if (currentUser == null) {
@@ -169,7 +236,13 @@ public class ProjectService {
         return projectRepository.findByCreatedById(currentUser.getId()); // You'll need this method in ProjectRepository
     }
     // If you need to view *any* user's projects
+    @Transactional(readOnly = true)
     public List<Project> getProjectsByCreator(Long creatorId) {
         return projectRepository.findByCreatedById(creatorId);
     }
+    // Paged variant of getProjectsByCreator
+    @Transactional(readOnly = true)
+    public List<Project> getProjectsByCreator(Long creatorId, Pageable pageable) {
+        return projectRepository.findByCreatedById(creatorId, pageable);
+    }
 }
\ No newline at end of file
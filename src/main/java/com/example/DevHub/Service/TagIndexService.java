@@ -0,0 +1,203 @@
+package com.example.DevHub.Service;
+
+import com.example.DevHub.Model.BlogPost;
+import com.example.DevHub.Model.Tag;
+import com.example.DevHub.Repository.BlogPostRepository;
+import com.example.DevHub.Repository.PostTagRepository;
+import com.example.DevHub.Repository.TagRepository;
+import com.example.DevHub.dto.TermCount;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains the tag dictionary, the inverted tag-to-post index and the per-tag post counts.
+ * Writes apply only the difference between a post's indexed tags and its new tags, so a save touches
+ * as many index rows as tags changed, and the tag cloud and tag filters never scan blog_post_tags.
+ */
+@Service
+public class TagIndexService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TagIndexService.class);
+    private static final int RELATED_SAMPLE = 1000;
+
+    private final TagRepository tagRepository;
+    private final PostTagRepository postTagRepository;
+    private final BlogPostRepository blogPostRepository;
+
+    public TagIndexService(TagRepository tagRepository, PostTagRepository postTagRepository, BlogPostRepository blogPostRepository) {
+        this.tagRepository = tagRepository;
+        this.postTagRepository = postTagRepository;
+        this.blogPostRepository = blogPostRepository;
+    }
+
+    /**
+     * Brings the index entries of a post in line with its current tags.
+     * @param postId The ID of the blog post
+     * @param tags The post's tags as entered; blanks and duplicates are ignored
+     */
+    @Transactional
+    public void indexPost(Long postId, Collection<String> tags) {
+        Set<String> wanted = normalizeAll(tags);
+        Map<String, Long> indexed = new HashMap<>();
+        for (Object[] row : postTagRepository.findTagsByPostId(postId)) {
+            indexed.put((String) row[1], (Long) row[0]);
+        }
+
+        List<Long> removed = new ArrayList<>();
+        indexed.forEach((name, tagId) -> {
+            if (!wanted.contains(name)) {
+                removed.add(tagId);
+            }
+        });
+        if (!removed.isEmpty()) {
+            postTagRepository.deleteByPostIdAndTagIds(postId, removed);
+            tagRepository.adjustPostCounts(removed, -1);
+        }
+
+        List<String> added = wanted.stream().filter(name -> !indexed.containsKey(name)).toList();
+        if (!added.isEmpty()) {
+            List<Long> addedIds = new ArrayList<>(resolveTagIds(added).values());
+            for (Long tagId : addedIds) {
+                postTagRepository.insertIfAbsent(postId, tagId);
+            }
+            tagRepository.adjustPostCounts(addedIds, 1);
+        }
+    }
+
+    /**
+     * Removes a deleted post from the index.
+     * @param postId The ID of the blog post
+     */
+    @Transactional
+    public void removePost(Long postId) {
+        indexPost(postId, List.of());
+    }
+
+    /**
+     * Retrieves one page of posts carrying a tag, newest first.
+     * @param tag The tag, in any case
+     * @param page The page number
+     * @param size The page size
+     * @return The posts on the page, empty if the tag is unknown
+     */
+    @Transactional(readOnly = true)
+    public List<BlogPost> getPostsByTag(String tag, int page, int size) {
+        String name = normalize(tag);
+        if (name == null) {
+            return List.of();
+        }
+        return tagRepository.findByName(name)
+                .map(found -> {
+                    List<Long> ids = postTagRepository.findPostIdsByTagId(found.getId(), PageRequest.of(page, size));
+                    // findAllById does not keep the order, so put the posts back in index order
+                    Map<Long, BlogPost> byId = blogPostRepository.findAllById(ids).stream()
+                            .collect(Collectors.toMap(BlogPost::getId, Function.identity()));
+                    return ids.stream().map(byId::get).filter(post -> post != null).toList();
+                })
+                .orElse(List.of());
+    }
+
+    /**
+     * Retrieves the most used tags for the tag cloud.
+     * @param limit The maximum number of tags
+     * @return The tags with their post counts, most used first
+     */
+    @Transactional(readOnly = true)
+    public List<TermCount> getTopTags(int limit) {
+        return tagRepository.findByPostCountGreaterThanOrderByPostCountDescNameAsc(0, PageRequest.of(0, limit)).stream()
+                .map(tag -> new TermCount(tag.getName(), tag.getPostCount()))
+                .toList();
+    }
+
+    /**
+     * Retrieves the tags most often used together with a tag, counted over its most recent posts.
+     * @param tag The tag, in any case
+     * @param limit The maximum number of tags
+     * @return The related tags with the number of shared posts, most shared first
+     */
+    @Transactional(readOnly = true)
+    public List<TermCount> getRelatedTags(String tag, int limit) {
+        String name = normalize(tag);
+        if (name == null) {
+            return List.of();
+        }
+        return tagRepository.findByName(name)
+                .map(found -> postTagRepository.findRelatedTags(found.getId(), RELATED_SAMPLE, limit).stream()
+                        .map(row -> new TermCount((String) row[0], ((Number) row[1]).longValue()))
+                        .toList())
+                .orElse(List.of());
+    }
+
+    /**
+     * Builds the index from existing posts the first time the application starts with an empty dictionary.
+     * Every statement is idempotent, so nodes starting together do not conflict.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfillIfEmpty() {
+        if (tagRepository.count() > 0) {
+            return;
+        }
+        int tags = tagRepository.backfillFromPosts();
+        if (tags > 0) {
+            int entries = postTagRepository.backfillFromPosts();
+            tagRepository.recountAll();
+            logger.info("Built tag index from existing posts: {} tags, {} index entries", tags, entries);
+        }
+    }
+
+    /**
+     * Normalizes a tag the same way the backfill queries do: trimmed and lower-cased.
+     * @return The normalized tag, or null if it is blank or too long to index
+     */
+    static String normalize(String tag) {
+        if (tag == null) {
+            return null;
+        }
+        String name = tag.trim().toLowerCase(Locale.ROOT);
+        return name.isEmpty() || name.length() > Tag.MAX_NAME_LENGTH ? null : name;
+    }
+
+    private static Set<String> normalizeAll(Collection<String> tags) {
+        Set<String> names = new LinkedHashSet<>();
+        if (tags != null) {
+            for (String tag : tags) {
+                String name = normalize(tag);
+                if (name != null) {
+                    names.add(name);
+                }
+            }
+        }
+        return names;
+    }
+
+    private Map<String, Long> resolveTagIds(Collection<String> names) {
+        Map<String, Long> ids = new HashMap<>();
+        tagRepository.findByNameIn(names).forEach(tag -> ids.put(tag.getName(), tag.getId()));
+        if (ids.size() < names.size()) {
+            for (String name : names) {
+                if (!ids.containsKey(name)) {
+                    tagRepository.insertIfAbsent(name);
+                }
+            }
+            tagRepository.findByNameIn(names).forEach(tag -> ids.put(tag.getName(), tag.getId()));
+        }
+        return ids;
+    }
+}
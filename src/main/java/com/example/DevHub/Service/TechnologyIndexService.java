@@ -0,0 +1,202 @@
+package com.example.DevHub.Service;
+
+import com.example.DevHub.Model.Project;
+import com.example.DevHub.Model.Technology;
+import com.example.DevHub.Repository.ProjectRepository;
+import com.example.DevHub.Repository.ProjectTechnologyRepository;
+import com.example.DevHub.Repository.TechnologyRepository;
+import com.example.DevHub.dto.ProjectFacetResponse;
+import com.example.DevHub.dto.TermCount;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Parses project tech stacks into normalized technology terms and keeps the project-technology index in sync.
+ * "Java, Spring Boot / PostgreSQL" becomes java, spring boot and postgresql, so a filter on java no longer
+ * matches JavaScript. Faceted searches are grouped queries over the index instead of LIKE scans.
+ */
+@Service
+public class TechnologyIndexService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TechnologyIndexService.class);
+    private static final Pattern SEPARATORS = Pattern.compile("[,;|/\\r\\n]+");
+    private static final int BACKFILL_PAGE_SIZE = 500;
+
+    private final TechnologyRepository technologyRepository;
+    private final ProjectTechnologyRepository projectTechnologyRepository;
+    private final ProjectRepository projectRepository;
+
+    public TechnologyIndexService(TechnologyRepository technologyRepository,
+                                  ProjectTechnologyRepository projectTechnologyRepository,
+                                  ProjectRepository projectRepository) {
+        this.technologyRepository = technologyRepository;
+        this.projectTechnologyRepository = projectTechnologyRepository;
+        this.projectRepository = projectRepository;
+    }
+
+    /**
+     * Splits a free-form tech stack into normalized technology terms.
+     * @param techStack The tech stack as entered, e.g. "Java, Spring Boot / PostgreSQL"
+     * @return The distinct terms in order of appearance
+     */
+    public static Set<String> tokenize(String techStack) {
+        Set<String> terms = new LinkedHashSet<>();
+        if (techStack != null) {
+            for (String part : SEPARATORS.split(techStack)) {
+                String term = normalize(part);
+                if (term != null) {
+                    terms.add(term);
+                }
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * Brings the index entries of a project in line with its current tech stack.
+     * @param projectId The ID of the project
+     * @param techStack The project's tech stack as entered
+     */
+    @Transactional
+    public void indexProject(Long projectId, String techStack) {
+        Set<String> wanted = tokenize(techStack);
+        Map<String, Long> indexed = new HashMap<>();
+        for (Object[] row : projectTechnologyRepository.findTechnologiesByProjectId(projectId)) {
+            indexed.put((String) row[1], (Long) row[0]);
+        }
+
+        List<Long> removed = new ArrayList<>();
+        indexed.forEach((name, technologyId) -> {
+            if (!wanted.contains(name)) {
+                removed.add(technologyId);
+            }
+        });
+        if (!removed.isEmpty()) {
+            projectTechnologyRepository.deleteByProjectIdAndTechnologyIds(projectId, removed);
+            technologyRepository.adjustProjectCounts(removed, -1);
+        }
+
+        List<String> added = wanted.stream().filter(name -> !indexed.containsKey(name)).toList();
+        if (!added.isEmpty()) {
+            List<Long> addedIds = new ArrayList<>(resolveTechnologyIds(added).values());
+            for (Long technologyId : addedIds) {
+                projectTechnologyRepository.insertIfAbsent(projectId, technologyId);
+            }
+            technologyRepository.adjustProjectCounts(addedIds, 1);
+        }
+    }
+
+    /**
+     * Removes a deleted project from the index.
+     * @param projectId The ID of the project
+     */
+    @Transactional
+    public void removeProject(Long projectId) {
+        indexProject(projectId, null);
+    }
+
+    /**
+     * Finds projects by technology and counts the technologies used by the matches.
+     * @param technologies The requested technologies, in any case; empty to browse all projects
+     * @param matchAll True to require every technology (AND), false to require any of them (OR)
+     * @param page The page number
+     * @param size The page size
+     * @param facetLimit The maximum number of facet counts
+     * @return The page of matching projects, newest first, with the total and the facet counts
+     */
+    @Transactional(readOnly = true)
+    public ProjectFacetResponse search(Collection<String> technologies, boolean matchAll, int page, int size, int facetLimit) {
+        Set<String> names = new LinkedHashSet<>();
+        for (String technology : technologies) {
+            names.addAll(tokenize(technology));
+        }
+        if (names.isEmpty()) {
+            // No filter: page through all projects and use the maintained counts as facets
+            List<Project> projects = projectRepository.findAllBy(PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "id")));
+            List<TermCount> facets = technologyRepository
+                    .findByProjectCountGreaterThanOrderByProjectCountDescNameAsc(0, PageRequest.of(0, facetLimit)).stream()
+                    .map(technology -> new TermCount(technology.getName(), technology.getProjectCount()))
+                    .toList();
+            return new ProjectFacetResponse(projects, projectRepository.count(), facets);
+        }
+
+        List<Long> technologyIds = technologyRepository.findByNameIn(names).stream().map(Technology::getId).toList();
+        if (technologyIds.isEmpty() || (matchAll && technologyIds.size() < names.size())) {
+            // An unknown technology can never be matched by AND, and matches nothing on its own
+            return new ProjectFacetResponse(List.of(), 0, List.of());
+        }
+        int required = matchAll ? technologyIds.size() : 1;
+        List<Long> ids = projectTechnologyRepository.findMatchingProjectIds(technologyIds, required, size, (long) page * size);
+        // findAllById does not keep the order, so put the projects back in index order
+        Map<Long, Project> byId = projectRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Project::getId, Function.identity()));
+        List<Project> projects = ids.stream().map(byId::get).filter(project -> project != null).toList();
+        long total = projectTechnologyRepository.countMatchingProjects(technologyIds, required);
+        List<TermCount> facets = projectTechnologyRepository.countFacets(technologyIds, required, facetLimit).stream()
+                .map(row -> new TermCount((String) row[0], ((Number) row[1]).longValue()))
+                .toList();
+        return new ProjectFacetResponse(projects, total, facets);
+    }
+
+    /**
+     * Builds the index from existing projects the first time the application starts with an empty dictionary.
+     * Indexing is diff-based and every insert is idempotent, so nodes starting together do not conflict.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfillIfEmpty() {
+        if (technologyRepository.count() > 0) {
+            return;
+        }
+        int indexed = 0;
+        List<Project> batch;
+        int page = 0;
+        do {
+            batch = projectRepository.findAllBy(PageRequest.of(page++, BACKFILL_PAGE_SIZE, Sort.by("id")));
+            for (Project project : batch) {
+                indexProject(project.getId(), project.getTechStack());
+            }
+            indexed += batch.size();
+        } while (batch.size() == BACKFILL_PAGE_SIZE);
+        if (indexed > 0) {
+            logger.info("Built technology index from {} existing projects", indexed);
+        }
+    }
+
+    private static String normalize(String term) {
+        String name = term.trim().toLowerCase(Locale.ROOT);
+        return name.isEmpty() || name.length() > Technology.MAX_NAME_LENGTH ? null : name;
+    }
+
+    private Map<String, Long> resolveTechnologyIds(Collection<String> names) {
+        Map<String, Long> ids = new HashMap<>();
+        technologyRepository.findByNameIn(names).forEach(technology -> ids.put(technology.getName(), technology.getId()));
+        if (ids.size() < names.size()) {
+            for (String name : names) {
+                if (!ids.containsKey(name)) {
+                    technologyRepository.insertIfAbsent(name);
+                }
+            }
+            technologyRepository.findByNameIn(names).forEach(technology -> ids.put(technology.getName(), technology.getId()));
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,270 @@
+package com.example.DevHub.Service;
+
+import com.example.DevHub.Model.PopularityStat;
+import com.example.DevHub.Model.TrendingType;
+import com.example.DevHub.Repository.BlogPostRepository;
+import com.example.DevHub.Repository.PopularityStatRepository;
+import com.example.DevHub.Repository.ProjectRepository;
+import com.example.DevHub.Repository.TitleView;
+import com.example.DevHub.dto.TrendingEntry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Ranks blog posts and projects by time-decayed popularity.
+ * Views and comments only bump striped in-memory counters. A scheduled flush sends the accumulated deltas to
+ * popularity_stats as one batch of additive upserts, so every node contributes without coordination. A second
+ * job reads the hottest rows into an immutable snapshot, and the trending endpoints serve that snapshot as is.
+ * Scores decay exponentially with the configured half-life. Changing the half-life reorders existing scores.
+ */
+@Service
+public class TrendingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TrendingService.class);
+    // Scores are measured from a fixed epoch so stored values stay comparable forever
+    private static final long EPOCH_MILLIS = 1735689600000L; // 2025-01-01T00:00:00Z
+
+    private static final String UPSERT = "INSERT INTO popularity_stats (entity_type, entity_id, views, comments, hotness, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, now()) ON CONFLICT (entity_type, entity_id) DO UPDATE SET "
+            + "views = popularity_stats.views + EXCLUDED.views, "
+            + "comments = popularity_stats.comments + EXCLUDED.comments, "
+            // log(exp(a) + exp(b)), written so neither exponent can overflow
+            + "hotness = GREATEST(popularity_stats.hotness, EXCLUDED.hotness) "
+            + "+ LN(1 + EXP(-ABS(popularity_stats.hotness - EXCLUDED.hotness))), "
+            + "updated_at = now()";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PopularityStatRepository popularityStatRepository;
+    private final BlogPostRepository blogPostRepository;
+    private final ProjectRepository projectRepository;
+    private final double decayMillis;
+    private final double viewWeight;
+    private final double commentWeight;
+    private final int snapshotSize;
+    private final Map<TrendingType, ConcurrentHashMap<Long, Counters>> counters = new EnumMap<>(TrendingType.class);
+    private volatile Map<TrendingType, List<TrendingEntry>> snapshot = Map.of();
+
+    public TrendingService(JdbcTemplate jdbcTemplate,
+                           PopularityStatRepository popularityStatRepository,
+                           BlogPostRepository blogPostRepository,
+                           ProjectRepository projectRepository,
+                           @Value("${devhub.trending.half-life-hours:24}") double halfLifeHours,
+                           @Value("${devhub.trending.view-weight:1}") double viewWeight,
+                           @Value("${devhub.trending.comment-weight:5}") double commentWeight,
+                           @Value("${devhub.trending.snapshot-size:100}") int snapshotSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.popularityStatRepository = popularityStatRepository;
+        this.blogPostRepository = blogPostRepository;
+        this.projectRepository = projectRepository;
+        this.decayMillis = TimeUnit.HOURS.toMillis(1) * halfLifeHours / Math.log(2);
+        this.viewWeight = viewWeight;
+        this.commentWeight = commentWeight;
+        this.snapshotSize = snapshotSize;
+        for (TrendingType type : TrendingType.values()) {
+            counters.put(type, new ConcurrentHashMap<>());
+        }
+    }
+
+    /**
+     * Counts a view. Only touches an in-memory counter.
+     * @param type The kind of content
+     * @param id The ID of the blog post or project
+     */
+    public void recordView(TrendingType type, Long id) {
+        counters(type, id).views.increment();
+    }
+
+    /**
+     * Counts views in bulk, e.g. from a pipeline that already aggregated them.
+     * @param type The kind of content
+     * @param id The ID of the blog post or project
+     * @param views The number of views
+     */
+    public void recordViews(TrendingType type, Long id, long views) {
+        counters(type, id).views.add(views);
+    }
+
+    /**
+     * Counts a comment. Only touches an in-memory counter.
+     * @param type The kind of content
+     * @param id The ID of the commented blog post or project
+     */
+    public void recordComment(TrendingType type, Long id) {
+        counters(type, id).comments.increment();
+    }
+
+    /**
+     * Drops the popularity of deleted content so it leaves the rankings.
+     * The stored row goes with the caller's transaction; the in-memory counter only after it commits.
+     * @param type The kind of content
+     * @param id The ID of the deleted blog post or project
+     */
+    public void remove(TrendingType type, Long id) {
+        afterCommit(() -> counters.get(type).remove(id));
+        popularityStatRepository.deleteById(new PopularityStat.Key(type, id));
+    }
+
+    /**
+     * Drops the popularity of a batch of deleted content with a single statement.
+     * The stored rows go with the caller's transaction; the in-memory counters only after it commits.
+     * @param type The kind of content
+     * @param ids The IDs of the deleted blog posts or projects
+     */
+    public void remove(TrendingType type, Collection<Long> ids) {
+        List<Long> removed = List.copyOf(ids);
+        afterCommit(() -> removed.forEach(counters.get(type)::remove));
+        jdbcTemplate.update("DELETE FROM popularity_stats WHERE entity_type = ? AND entity_id = ANY(?)", ps -> {
+            ps.setString(1, type.name());
+            ps.setArray(2, ps.getConnection().createArrayOf("bigint", ids.toArray()));
+        });
+    }
+
+    /**
+     * Returns the top of the current trending snapshot.
+     * @param type The kind of content
+     * @param limit The maximum number of entries
+     * @return The hottest entries, hottest first
+     */
+    public List<TrendingEntry> getTrending(TrendingType type, int limit) {
+        List<TrendingEntry> entries = snapshot.getOrDefault(type, List.of());
+        return entries.size() <= limit ? entries : entries.subList(0, limit);
+    }
+
+    /**
+     * Writes the deltas accumulated since the last flush as one batch of upserts.
+     * Counters that stayed at zero after a successful flush are evicted, so the maps only hold recently active content.
+     */
+    @Scheduled(fixedDelayString = "${devhub.trending.flush-ms:10000}")
+    public void flush() {
+        double now = hotnessAt(System.currentTimeMillis());
+        List<Object[]> rows = new ArrayList<>();
+        List<Drained> drained = new ArrayList<>();
+        counters.forEach((type, byId) -> byId.forEach((id, counter) -> {
+            long views = counter.views.sumThenReset();
+            long comments = counter.comments.sumThenReset();
+            if (views > 0 || comments > 0) {
+                double weight = views * viewWeight + comments * commentWeight;
+                rows.add(new Object[]{type.name(), id, views, comments, Math.log(weight) + now});
+                drained.add(new Drained(type, id, counter));
+            }
+        }));
+        if (rows.isEmpty()) {
+            return;
+        }
+        try {
+            jdbcTemplate.batchUpdate(UPSERT, rows);
+        } catch (RuntimeException e) {
+            // Put the deltas back so they go out with the next flush
+            for (int i = 0; i < rows.size(); i++) {
+                drained.get(i).counter().views.add((Long) rows.get(i)[2]);
+                drained.get(i).counter().comments.add((Long) rows.get(i)[3]);
+            }
+            logger.warn("Failed to flush {} popularity deltas, will retry: {}", rows.size(), e.getMessage());
+            return;
+        }
+        drained.forEach(this::evictIfIdle);
+    }
+
+    /**
+     * Rebuilds the trending snapshot from the hottest rows.
+     */
+    @Scheduled(fixedDelayString = "${devhub.trending.refresh-ms:30000}")
+    public void refreshSnapshot() {
+        double now = hotnessAt(System.currentTimeMillis());
+        Map<TrendingType, List<TrendingEntry>> fresh = new EnumMap<>(TrendingType.class);
+        for (TrendingType type : TrendingType.values()) {
+            List<PopularityStat> stats = popularityStatRepository.findByIdEntityTypeOrderByHotnessDesc(type, PageRequest.of(0, snapshotSize));
+            Map<Long, String> titles = loadTitles(type, stats.stream().map(stat -> stat.getId().getEntityId()).toList());
+            List<TrendingEntry> entries = new ArrayList<>(stats.size());
+            for (PopularityStat stat : stats) {
+                String title = titles.get(stat.getId().getEntityId());
+                if (title != null) { // Skips content deleted without going through its service, e.g. stats a flush re-created after the delete
+                    entries.add(new TrendingEntry(stat.getId().getEntityId(), title, Math.exp(stat.getHotness() - now),
+                            stat.getViews(), stat.getComments()));
+                }
+            }
+            fresh.put(type, List.copyOf(entries));
+        }
+        snapshot = fresh;
+    }
+
+    @PreDestroy
+    public void stop() {
+        flush(); // Counts buffered since the last scheduled flush would otherwise be lost
+    }
+
+    private Map<Long, String> loadTitles(TrendingType type, List<Long> ids) {
+        Map<Long, String> titles = new HashMap<>();
+        List<TitleView> rows = type == TrendingType.BLOG_POST
+                ? blogPostRepository.findTitlesByIdIn(ids)
+                : projectRepository.findTitlesByIdIn(ids);
+        for (TitleView row : rows) {
+            titles.put(row.getId(), row.getTitle());
+        }
+        return titles;
+    }
+
+    private double hotnessAt(long millis) {
+        return (millis - EPOCH_MILLIS) / decayMillis;
+    }
+
+    // Counts of content whose delete rolls back must survive, so in-memory removals wait for the commit
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private Counters counters(TrendingType type, Long id) {
+        return counters.get(type).computeIfAbsent(id, key -> new Counters());
+    }
+
+    private void evictIfIdle(Drained drained) {
+        Counters counter = drained.counter();
+        if (counter.views.sum() != 0 || counter.comments.sum() != 0
+                || !counters.get(drained.type()).remove(drained.id(), counter)) {
+            return;
+        }
+        // A count that looked the counter up just before the removal lands on the detached one; carry it over
+        long views = counter.views.sumThenReset();
+        long comments = counter.comments.sumThenReset();
+        if (views > 0 || comments > 0) {
+            Counters live = counters(drained.type(), drained.id());
+            live.views.add(views);
+            live.comments.add(comments);
+        }
+    }
+
+    private record Drained(TrendingType type, Long id, Counters counter) {
+    }
+
+    private static final class Counters {
+        private final LongAdder views = new LongAdder();
+        private final LongAdder comments = new LongAdder();
+    }
+}
@@ -0,0 +1,230 @@
+package com.example.DevHub.Service;
+
+import com.example.DevHub.Cache.CacheInvalidationBus;
+import com.example.DevHub.Cache.EntityType;
+import com.example.DevHub.Cache.InvalidationListener;
+import com.example.DevHub.Repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Answers "is this username / email still available?" for live feedback while someone fills in the sign-up form.
+ * Bloom filters of the lower-cased usernames and emails answer most checks in memory; only a possible hit is
+ * checked in the database, with the exact, case-sensitive comparison the unique constraints make.
+ * The filters are built with a streaming scan at startup and rebuilt periodically, which drops renamed and
+ * deleted users and resizes them. Until the first build finishes every check goes to the database.
+ * New and changed users reach the filters of every node through the {@link CacheInvalidationBus}, so another node
+ * reports a just taken name as available for at most the bus delay; a missed notification triggers a rebuild.
+ * Rebuilds scan on their own thread, never on the shared scheduler.
+ * Availability is advisory: registration itself is decided by the unique constraints.
+ */
+@Service
+public class UserAvailabilityService implements InvalidationListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserAvailabilityService.class);
+    private static final int FETCH_SIZE = 1000;
+
+    private final UserRepository userRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final double fpp;
+    private final long minCapacity;
+    private final long rebuildMillis;
+    private final Counter filterAnswers;
+    private final Counter databaseAnswers;
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private final ScheduledExecutorService rebuilder = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "devhub-availability-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile Filters current; // Null until the first build
+    private volatile Filters building; // Set while a rebuild scans, so users created meanwhile are not lost
+
+    public UserAvailabilityService(UserRepository userRepository,
+                                   JdbcTemplate jdbcTemplate,
+                                   PlatformTransactionManager transactionManager,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${devhub.users.availability.fpp:0.01}") double fpp,
+                                   @Value("${devhub.users.availability.min-capacity:100000}") long minCapacity,
+                                   @Value("${devhub.users.availability.rebuild-ms:21600000}") long rebuildMillis) {
+        this.userRepository = userRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.fpp = fpp;
+        this.minCapacity = minCapacity;
+        this.rebuildMillis = rebuildMillis;
+        BloomFilter.create(minCapacity, fpp); // Fails startup on an invalid rate instead of every rebuild
+        this.filterAnswers = Counter.builder("devhub.users.availability.checks").tag("source", "filter")
+                .description("Availability checks answered by the Bloom filters alone").register(meterRegistry);
+        this.databaseAnswers = Counter.builder("devhub.users.availability.checks").tag("source", "database")
+                .description("Availability checks that had to ask the database").register(meterRegistry);
+        registerGauge(meterRegistry, "devhub.users.availability.filter.bytes", "Memory of both Bloom filters",
+                filters -> filters.usernames.sizeBytes() + filters.emails.sizeBytes());
+        registerGauge(meterRegistry, "devhub.users.availability.filter.entries", "Usernames in the Bloom filter",
+                filters -> filters.usernames.entries());
+        registerGauge(meterRegistry, "devhub.users.availability.filter.fpp", "Expected false-positive rate of the username filter",
+                filters -> filters.usernames.expectedFpp());
+    }
+
+    /**
+     * @param username The username as the user typed it
+     * @return Whether no user has exactly this username
+     */
+    public boolean isUsernameAvailable(String username) {
+        Filters filters = current;
+        if (filters != null && !filters.usernames.mightContain(normalize(username))) {
+            filterAnswers.increment();
+            return true;
+        }
+        databaseAnswers.increment();
+        return !userRepository.existsByUsername(username);
+    }
+
+    /**
+     * @param email The email as the user typed it
+     * @return Whether no user has exactly this email
+     */
+    public boolean isEmailAvailable(String email) {
+        Filters filters = current;
+        if (filters != null && !filters.emails.mightContain(normalize(email))) {
+            filterAnswers.increment();
+            return true;
+        }
+        databaseAnswers.increment();
+        return !userRepository.existsByEmail(email);
+    }
+
+    /**
+     * Records a username and email that are now taken. Must be called after the write committed,
+     * so a rebuild either sees the row in its scan or sees this call.
+     * @param username The new username, or null if unchanged
+     * @param email The new email, or null if unchanged
+     */
+    public void taken(String username, String email) {
+        // Read building before current: a rebuild publishes the new filters as current before it clears building
+        Filters next = building;
+        Filters filters = current;
+        if (next != null) {
+            next.add(username, email);
+        }
+        if (filters != null) {
+            filters.add(username, email);
+            if (filters.usernames.isFull() && rebuilding.compareAndSet(false, true)) {
+                rebuilder.execute(this::runRebuild); // The rate degrades past capacity; resize now
+            }
+        }
+    }
+
+    @Override
+    public void onInvalidation(EntityType type, Long id) {
+        if (type != EntityType.USER || id == null) {
+            return;
+        }
+        // Peers only send the ID; read the row from the primary, where the write is already visible
+        jdbcTemplate.query("SELECT username, email FROM users WHERE id = ?",
+                rs -> {
+                    taken(rs.getString(1), rs.getString(2));
+                }, id);
+    }
+
+    @Override
+    public void onFullFlush() {
+        // Names taken on other nodes may have been missed
+        if (rebuilding.compareAndSet(false, true)) {
+            rebuilder.execute(this::runRebuild);
+        }
+    }
+
+    @PostConstruct
+    public void start() {
+        rebuilder.scheduleWithFixedDelay(this::rebuild, 0, rebuildMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Builds fresh filters sized for the current number of users and swaps them in. Readers keep using the
+     * previous filters, or the database before the first build, until the swap.
+     */
+    public void rebuild() {
+        if (rebuilding.compareAndSet(false, true)) {
+            runRebuild();
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        rebuilder.shutdownNow();
+    }
+
+    private void runRebuild() {
+        try {
+            long started = System.nanoTime();
+            long users = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", Long.class);
+            long capacity = Math.max(minCapacity, users * 2); // Room to grow until the next scheduled rebuild
+            Filters fresh = new Filters(BloomFilter.create(capacity, fpp), BloomFilter.create(capacity, fpp));
+            building = fresh; // Before the scan starts, so every later commit reaches these filters through taken()
+            try {
+                // Read-write so the scan runs on the primary; a lagging replica could miss users created just before
+                transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(connection -> {
+                    // Postgres only streams with a fetch size inside a transaction
+                    PreparedStatement statement = connection.prepareStatement("SELECT username, email FROM users");
+                    statement.setFetchSize(FETCH_SIZE);
+                    return statement;
+                }, rs -> {
+                    fresh.add(rs.getString(1), rs.getString(2));
+                }));
+                current = fresh;
+            } finally {
+                building = null;
+            }
+            logger.info("Built availability filters for {} users in {} ms: capacity {}, {} hash functions, {} KiB, "
+                            + "expected false-positive rate {}", fresh.usernames.entries(), (System.nanoTime() - started) / 1_000_000,
+                    capacity, fresh.usernames.hashes(), (fresh.usernames.sizeBytes() + fresh.emails.sizeBytes()) / 1024,
+                    String.format(Locale.ROOT, "%.4f", fresh.usernames.expectedFpp()));
+        } catch (RuntimeException e) {
+            logger.warn("Failed to build availability filters, keeping the previous ones: {}", e.getMessage());
+        } finally {
+            rebuilding.set(false);
+        }
+    }
+
+    private void registerGauge(MeterRegistry meterRegistry, String name, String description, ToDoubleFunction<Filters> value) {
+        Gauge.builder(name, this, service -> service.current == null ? 0 : value.applyAsDouble(service.current))
+                .description(description)
+                .register(meterRegistry);
+    }
+
+    // The filters hold lower-cased values, so they only err towards a database check
+    private static String normalize(String value) {
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private record Filters(BloomFilter usernames, BloomFilter emails) {
+        void add(String username, String email) {
+            if (username != null) {
+                usernames.add(normalize(username));
+            }
+            if (email != null) {
+                emails.add(normalize(email));
+            }
+        }
+    }
+}
@@ -0,0 +1,270 @@
+package com.example.DevHub.Service;
+
+import com.example.DevHub.Cache.CacheInvalidationBus;
+import com.example.DevHub.Cache.EntityType;
+import com.example.DevHub.Model.TrendingType;
+import com.example.DevHub.Model.UserDeletionJob;
+import com.example.DevHub.Repository.UserDeletionJobRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Deletes users and everything they wrote in the background.
+ * UserService disables the user and records a job; this service then works through the job's phases with
+ * set-based statements of at most one batch of rows each, every batch in its own short transaction. Blog posts
+ * and projects are deleted together with the comments on them and their tag, technology and popularity entries,
+ * then the feed events by the user or on their content.
+ * Progress is stored with each batch, so a job interrupted by a restart resumes where it stopped, on any node.
+ */
+@Service
+public class UserDeletionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserDeletionService.class);
+    private static final int ERROR_LENGTH = 500;
+
+    private final UserDeletionJobRepository jobRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TrendingService trendingService;
+    private final CacheInvalidationBus invalidationBus;
+    private final int batchSize;
+    private final long pauseMillis;
+    private final long leaseMillis;
+    // Jobs queued or running on this node, so the poller does not queue them twice
+    private final Set<Long> active = ConcurrentHashMap.newKeySet();
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "devhub-user-deleter");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile boolean stopping;
+
+    public UserDeletionService(UserDeletionJobRepository jobRepository,
+                               JdbcTemplate jdbcTemplate,
+                               PlatformTransactionManager transactionManager,
+                               TrendingService trendingService,
+                               CacheInvalidationBus invalidationBus,
+                               @Value("${devhub.users.deletion.batch-size:500}") int batchSize,
+                               @Value("${devhub.users.deletion.pause-ms:100}") long pauseMillis,
+                               @Value("${devhub.users.deletion.lease-ms:60000}") long leaseMillis) {
+        this.jobRepository = jobRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.trendingService = trendingService;
+        this.invalidationBus = invalidationBus;
+        this.batchSize = batchSize;
+        this.pauseMillis = pauseMillis;
+        this.leaseMillis = leaseMillis;
+    }
+
+    /**
+     * Records the deletion job of a user. Must run in the transaction that disables the user;
+     * the job starts after that transaction commits.
+     * @param userId The ID of the user
+     * @param username The username, kept for the progress report
+     */
+    @Transactional
+    public void request(Long userId, String username) {
+        jobRepository.insertIfAbsent(userId, username);
+    }
+
+    /**
+     * Queues a recorded job on this node. Does nothing if it is already queued here.
+     * @param userId The ID of the user
+     */
+    public void start(Long userId) {
+        if (!stopping && active.add(userId)) {
+            worker.execute(() -> {
+                try {
+                    run(userId);
+                } finally {
+                    active.remove(userId);
+                }
+            });
+        }
+    }
+
+    /**
+     * Retrieves the progress of a user's deletion.
+     * @param userId The ID of the user
+     * @return The job, or empty if the deletion of the user was never requested
+     */
+    @Transactional(readOnly = true)
+    public Optional<UserDeletionJob> getJob(Long userId) {
+        return jobRepository.findById(userId);
+    }
+
+    /**
+     * Picks up unfinished jobs whose lease ran out, e.g. because the node running them stopped.
+     */
+    @Scheduled(fixedDelayString = "${devhub.users.deletion.poll-ms:60000}")
+    public void resumeAbandoned() {
+        jobRepository.findClaimableUserIds(LocalDateTime.now()).forEach(this::start);
+    }
+
+    @PreDestroy
+    public void stop() {
+        stopping = true; // The running job finishes its current batch and hands back its lease
+        worker.shutdown();
+    }
+
+    private void run(Long userId) {
+        LocalDateTime now = LocalDateTime.now();
+        Integer claimed = transactionTemplate.execute(status -> jobRepository.claim(userId, now, now.plus(leaseMillis, ChronoUnit.MILLIS)));
+        if (claimed == null || claimed == 0) {
+            return; // Done already, or another node holds the lease
+        }
+        try {
+            UserDeletionJob.Phase phase = UserDeletionJob.Phase.COMMENTS;
+            while (phase != UserDeletionJob.Phase.DONE && !stopping) {
+                phase = transactionTemplate.execute(status -> runBatch(userId));
+                if (phase != UserDeletionJob.Phase.DONE && pauseMillis > 0) {
+                    Thread.sleep(pauseMillis); // Leaves room for regular traffic on the same rows and connections
+                }
+            }
+            if (phase == UserDeletionJob.Phase.DONE) {
+                logger.info("Deleted user {}", userId);
+            } else {
+                releaseLease(userId);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            releaseLease(userId);
+        } catch (RuntimeException e) {
+            // The lease runs out on its own, after which the poller retries the failed batch
+            logger.warn("Deleting user {} failed, will retry: {}", userId, e.getMessage());
+            recordError(userId, e);
+        }
+    }
+
+    /**
+     * Deletes one batch of the job's current phase and stores the progress.
+     * @return The phase after the batch
+     */
+    private UserDeletionJob.Phase runBatch(Long userId) {
+        UserDeletionJob job = jobRepository.findById(userId)
+                .orElseThrow(() -> new IllegalStateException("Deletion job disappeared for user " + userId));
+        switch (job.getPhase()) {
+            case COMMENTS -> {
+                int deleted = jdbcTemplate.update("DELETE FROM comments WHERE id IN "
+                        + "(SELECT id FROM comments WHERE user_id = ? LIMIT ?)", userId, batchSize);
+                job.setDeletedComments(job.getDeletedComments() + deleted);
+                if (deleted < batchSize) {
+                    job.setPhase(UserDeletionJob.Phase.BLOG_POSTS);
+                }
+                if (deleted > 0) {
+                    invalidationBus.publish(EntityType.COMMENT, null);
+                }
+            }
+            case BLOG_POSTS -> {
+                List<Long> ids = jdbcTemplate.queryForList("SELECT id FROM blog_posts WHERE author_id = ? ORDER BY id LIMIT ?",
+                        Long.class, userId, batchSize);
+                if (ids.isEmpty()) {
+                    job.setPhase(UserDeletionJob.Phase.PROJECTS);
+                } else if (!deleteCommentsOn(job, "blog_post_id", ids)) {
+                    updateWithIds("UPDATE tags t SET post_count = t.post_count - c.posts FROM "
+                            + "(SELECT tag_id, COUNT(*) AS posts FROM post_tag_index WHERE post_id = ANY(?) GROUP BY tag_id) c "
+                            + "WHERE t.id = c.tag_id", ids);
+                    updateWithIds("DELETE FROM post_tag_index WHERE post_id = ANY(?)", ids);
+                    updateWithIds("DELETE FROM blog_post_tags WHERE post_id = ANY(?)", ids);
+                    trendingService.remove(TrendingType.BLOG_POST, ids);
+                    job.setDeletedBlogPosts(job.getDeletedBlogPosts() + updateWithIds("DELETE FROM blog_posts WHERE id = ANY(?)", ids));
+                    invalidationBus.publish(EntityType.BLOG_POST, null);
+                }
+            }
+            case PROJECTS -> {
+                List<Long> ids = jdbcTemplate.queryForList("SELECT id FROM projects WHERE user_id = ? ORDER BY id LIMIT ?",
+                        Long.class, userId, batchSize);
+                if (ids.isEmpty()) {
+                    job.setPhase(UserDeletionJob.Phase.USER);
+                } else if (!deleteCommentsOn(job, "project_id", ids)) {
+                    updateWithIds("UPDATE technologies t SET project_count = t.project_count - c.projects FROM "
+                            + "(SELECT technology_id, COUNT(*) AS projects FROM project_technologies WHERE project_id = ANY(?) "
+                            + "GROUP BY technology_id) c WHERE t.id = c.technology_id", ids);
+                    updateWithIds("DELETE FROM project_technologies WHERE project_id = ANY(?)", ids);
+                    trendingService.remove(TrendingType.PROJECT, ids);
+                    job.setDeletedProjects(job.getDeletedProjects() + updateWithIds("DELETE FROM projects WHERE id = ANY(?)", ids));
+                    invalidationBus.publish(EntityType.PROJECT, null);
+                }
+            }
+            case USER -> {
+                // Feed events in batches first; the user row goes with the last, partial batch
+                int deleted = jdbcTemplate.update("DELETE FROM activity_events WHERE id IN "
+                        + "(SELECT id FROM activity_events WHERE actor_id = ? OR owner_id = ? LIMIT ?)", userId, userId, batchSize);
+                job.setDeletedActivityEvents(job.getDeletedActivityEvents() + deleted);
+                if (deleted == batchSize) {
+                    break;
+                }
+                invalidationBus.publish(EntityType.USER_ACTIVITY, userId);
+                jdbcTemplate.update("DELETE FROM users WHERE id = ?", userId);
+                job.setPhase(UserDeletionJob.Phase.DONE);
+                job.setLeaseUntil(null);
+                invalidationBus.publish(EntityType.USER, userId);
+            }
+            case DONE -> {
+                return UserDeletionJob.Phase.DONE;
+            }
+        }
+        LocalDateTime now = LocalDateTime.now();
+        job.setUpdatedAt(now);
+        job.setLastError(null);
+        if (job.getPhase() != UserDeletionJob.Phase.DONE) {
+            job.setLeaseUntil(now.plus(leaseMillis, ChronoUnit.MILLIS));
+        }
+        return job.getPhase();
+    }
+
+    /**
+     * Deletes one batch of the comments on some posts or projects.
+     * @param column The comments column referencing the parents
+     * @return True if a full batch was deleted, so the parents have to wait for the next batch
+     */
+    private boolean deleteCommentsOn(UserDeletionJob job, String column, List<Long> parentIds) {
+        int deleted = jdbcTemplate.update("DELETE FROM comments WHERE id IN (SELECT id FROM comments WHERE " + column
+                + " = ANY(?) LIMIT ?)", ps -> {
+            ps.setArray(1, ps.getConnection().createArrayOf("bigint", parentIds.toArray()));
+            ps.setInt(2, batchSize);
+        });
+        job.setDeletedComments(job.getDeletedComments() + deleted);
+        if (deleted > 0) {
+            invalidationBus.publish(EntityType.COMMENT, null);
+        }
+        return deleted == batchSize;
+    }
+
+    private int updateWithIds(String sql, List<Long> ids) {
+        return jdbcTemplate.update(sql, ps -> ps.setArray(1, ps.getConnection().createArrayOf("bigint", ids.toArray())));
+    }
+
+    // Lets any node resume the job right away instead of after the lease runs out
+    private void releaseLease(Long userId) {
+        transactionTemplate.executeWithoutResult(status -> jobRepository.findById(userId).ifPresent(job -> job.setLeaseUntil(null)));
+    }
+
+    private void recordError(Long userId, RuntimeException e) {
+        String error = String.valueOf(e.getMessage());
+        try {
+            transactionTemplate.executeWithoutResult(status -> jobRepository.findById(userId).ifPresent(job ->
+                    job.setLastError(error.length() > ERROR_LENGTH ? error.substring(0, ERROR_LENGTH) : error)));
+        } catch (RuntimeException ignored) {
+            // The database is likely unavailable; the retry records the next error
+        }
+    }
+}
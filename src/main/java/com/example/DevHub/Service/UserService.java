@@ -1,90 +1,205 @@
 package com.example.DevHub.Service;
 
+import com.example.DevHub.Cache.CacheInvalidationBus;
+import com.example.DevHub.Cache.EntityType;
+import com.example.DevHub.Model.Role;
 import com.example.DevHub.Model.User;
 import com.example.DevHub.Repository.UserRepository;
+import com.example.DevHub.dto.UserPageResponse;
+import com.example.DevHub.dto.UserResponse;
 import com.example.DevHub.exception.DuplicateEntryException;
 import com.example.DevHub.exception.ResourceNotFoundException;
+import io.micrometer.core.annotation.Timed;
+import jakarta.annotation.PreDestroy;
+import org.postgresql.util.PSQLException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
-import java.util.HashSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 @Service
+@Timed("devhub.service")
 public class UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final CacheInvalidationBus invalidationBus;
+    private final UserDeletionService userDeletionService;
+    private final UserAvailabilityService availabilityService;
+    private final JdbcTemplate jdbcTemplate;
+
+    // Sortable properties of the admin listing
+    private static final Set<String> USER_SORT_PROPERTIES = Set.of("id", "username", "email", "createdAt");
+    // Uniqueness of username and email is left to their unique constraints
+    private static final String INSERT_USER = "INSERT INTO users (username, email, password, bio, linkedin_url, github_url, "
+            + "role_mask, enabled, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, true, now()) RETURNING id, created_at";
+
+    // BCrypt is CPU-bound on purpose; more hashing threads than cores would only make every sign-up slower
+    private final ExecutorService passwordHasher;
 
     @Autowired
-    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder, CacheInvalidationBus invalidationBus, UserDeletionService userDeletionService,
+                       UserAvailabilityService availabilityService, JdbcTemplate jdbcTemplate,
+                       @Value("${devhub.users.hashing-threads:0}") int hashingThreads) {
         this.userRepository = userRepository;
+        this.jdbcTemplate = jdbcTemplate;
         this.passwordEncoder = passwordEncoder;
+        this.invalidationBus = invalidationBus;
+        this.userDeletionService = userDeletionService;
+        this.availabilityService = availabilityService;
+        this.passwordHasher = Executors.newFixedThreadPool(hashingThreads > 0 ? hashingThreads : Runtime.getRuntime().availableProcessors(), r -> {
+            Thread thread = new Thread(r, "devhub-password-hasher");
+            thread.setDaemon(true);
+            return thread;
+        });
     }
     public PasswordEncoder getPasswordEncoder() {
         return passwordEncoder;
     }
+    @Transactional(readOnly = true)
     public Optional<User> getById(Long id) {
         return userRepository.findById(id);
     }
 
+    /**
+     * Creates a user on the calling thread: hashes the password, then inserts the user with a single statement.
+     * No transaction: a unique violation aborts the surrounding transaction, and the follow-up query telling
+     * username from email conflicts could not run in it.
+     * @param user The user with the raw password; roles default to USER
+     * @return The user with its ID, creation time and hashed password
+     * @throws DuplicateEntryException if the username or email is taken, naming which one
+     */
     public User createUser(User user) {
-        // Check for duplicate username
-        if (userRepository.existsByUsername(user.getUsername())) {
-            throw new DuplicateEntryException("Username '" + user.getUsername() + "' already taken.");
+        return insertUser(user, passwordEncoder.encode(user.getPassword()));
+    }
+
+    /**
+     * Registers a user without blocking the calling thread. The password is hashed on the bounded hashing pool
+     * first, so a burst of sign-ups queues there instead of occupying request threads with BCrypt. The database
+     * then decides uniqueness in the same single insert as for {@link #createUser}; no existence checks run
+     * beforehand, so concurrent sign-ups for the same name cannot both pass.
+     * @param user The user with the raw password; roles default to USER
+     * @return Completes with the saved user, or exceptionally with a DuplicateEntryException
+     */
+    public CompletableFuture<User> registerUser(User user) {
+        // The insert stays on the hashing thread: one round-trip next to a hash that costs far more
+        return CompletableFuture.supplyAsync(() -> passwordEncoder.encode(user.getPassword()), passwordHasher)
+                .thenApply(hash -> insertUser(user, hash));
+    }
+
+    private User insertUser(User user, String hash) {
+        // setRoles already dropped unknown names; without any valid role, new users get USER
+        if (user.getRoleMask() == 0) {
+            user.setRoleMask(Role.USER.bit());
         }
-        // Check for duplicate email
-        if (userRepository.existsByEmail(user.getEmail())) {
-            throw new DuplicateEntryException("Email '" + user.getEmail() + "' already registered.");
+        try {
+            jdbcTemplate.query(INSERT_USER, rs -> {
+                user.setId(rs.getLong("id"));
+                user.setCreatedAt(rs.getObject("created_at", LocalDateTime.class));
+            }, user.getUsername(), user.getEmail(), hash, user.getBio(), user.getLinkedinUrl(), user.getGithubUrl(),
+                    user.getRoleMask());
+        } catch (DuplicateKeyException e) {
+            throw duplicateOf(user, e);
         }
+        availabilityService.taken(user.getUsername(), user.getEmail()); // The insert committed on its own
+        invalidationBus.publish(EntityType.USER, user.getId()); // Other nodes add the new names to their filters
+        user.setPassword(hash);
+        user.setEnabled(true);
+        return user;
+    }
 
-        user.setPassword(passwordEncoder.encode(user.getPassword()));
-
-        // Assign default role(s) or validate provided roles
-        // For self-registration, new users usually get a default role
-        Set<String> validatedRoles = new HashSet<>(); // Use Set for roles for uniqueness
-        if (user.getRoles() == null || user.getRoles().isEmpty()) {
-            validatedRoles.add("USER"); // Default role for new users (not ROLE_USER, because normalization happens later in User.getAuthorities)
-        } else {
-            // If roles can be provided (e.g., by admin or special registration), validate them
-            for (String role : user.getRoles()) {
-                String normalized = role.toUpperCase();
-                // Remove "ROLE_" prefix if present to normalize to just "USER" or "ADMIN" for storage
-                if (normalized.startsWith("ROLE_")) {
-                    normalized = normalized.substring(5);
-                }
-                if (normalized.equals("USER") || normalized.equals("ADMIN")) { // Only allow these specific roles
-                    validatedRoles.add(normalized);
-                } else {
-                    System.out.println("Ignored invalid role: " + role); // Log for debugging
-                }
-            }
-            if (validatedRoles.isEmpty()) {
-                validatedRoles.add("USER"); // Fallback to default if all provided roles were invalid
-            }
+    /**
+     * Names the value that made an insert fail, from the unique constraint Postgres reports as violated.
+     */
+    private DuplicateEntryException duplicateOf(User user, DuplicateKeyException e) {
+        String constraint = e.getMostSpecificCause() instanceof PSQLException psql && psql.getServerErrorMessage() != null
+                ? psql.getServerErrorMessage().getConstraint() : null;
+        if (User.USERNAME_KEY.equals(constraint)) {
+            return new DuplicateEntryException("Username '" + user.getUsername() + "' already taken.");
+        }
+        if (User.EMAIL_KEY.equals(constraint)) {
+            return new DuplicateEntryException("Email '" + user.getEmail() + "' already registered.");
         }
-        // Ensure User model uses List<String> for roles, so convert Set back to List
-        user.setRoles(new ArrayList<>(validatedRoles));
+        throw e;
+    }
 
-        return userRepository.save(user);
+    @PreDestroy
+    public void stop() {
+        passwordHasher.shutdown();
     }
 
-    public List<User> getAllUsers() {
-        return userRepository.findAll();
+    /**
+     * Retrieves every user, ordered by ID.
+     * @return All users
+     * @deprecated Unbounded; use {@link #getUserPage}
+     */
+    @Deprecated
+    @Transactional(readOnly = true)
+    public List<UserResponse> getAllUsers() {
+        return userRepository.findAllResponses(Sort.by("id"));
     }
 
+    /**
+     * Retrieves one page of the admin user listing.
+     * The UserResponse fields are selected directly, the roles decoded from the role mask, so no entity is loaded.
+     * The role filter tests the role mask bit.
+     * @param page The zero-based page number
+     * @param size The page size
+     * @param sort The property to sort by: id, username, email or createdAt
+     * @param ascending Whether to sort ascending
+     * @param role Only users with this role, with or without the ROLE_ prefix; null for all users
+     * @return The users on the page and the number of users matching the filter
+     * @throws IllegalArgumentException if the sort property is not supported
+     */
+    @Transactional(readOnly = true)
+    public UserPageResponse getUserPage(int page, int size, String sort, boolean ascending, String role) {
+        if (!USER_SORT_PROPERTIES.contains(sort)) {
+            throw new IllegalArgumentException("Unsupported sort property: " + sort);
+        }
+        Sort.Direction direction = ascending ? Sort.Direction.ASC : Sort.Direction.DESC;
+        // The id tiebreaker keeps pages stable when the sort property has duplicates
+        Sort order = "id".equals(sort) ? Sort.by(direction, "id") : Sort.by(direction, sort, "id");
+        PageRequest pageable = PageRequest.of(page, size, order);
+        Page<UserResponse> users;
+        if (role == null) {
+            users = userRepository.findResponses(pageable);
+        } else {
+            Role filter = Role.parse(role);
+            if (filter == null) {
+                return new UserPageResponse(new ArrayList<>(), page, size, 0); // Nobody has an unknown role
+            }
+            users = userRepository.findResponsesWithRole(filter.bit(), pageable);
+        }
+        return new UserPageResponse(users.getContent(), page, size, users.getTotalElements());
+    }
+
+    @Transactional
     public User updateUser(Long id, User userDetails) {
         User existingUser = userRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
 
         // Check for duplicate username during update (if username is being changed)
-        if (userDetails.getUsername() != null && !userDetails.getUsername().equals(existingUser.getUsername())) {
+        boolean usernameChanged = userDetails.getUsername() != null && !userDetails.getUsername().equals(existingUser.getUsername());
+        if (usernameChanged) {
             if (userRepository.existsByUsername(userDetails.getUsername())) {
                 throw new DuplicateEntryException("Username '" + userDetails.getUsername() + "' already taken.");
             }
@@ -92,7 +207,8 @@ public class UserService {
         }
 
         // Check for duplicate email during update (if email is being changed)
-        if (userDetails.getEmail() != null && !userDetails.getEmail().equals(existingUser.getEmail())) {
+        boolean emailChanged = userDetails.getEmail() != null && !userDetails.getEmail().equals(existingUser.getEmail());
+        if (emailChanged) {
             if (userRepository.existsByEmail(userDetails.getEmail())) {
                 throw new DuplicateEntryException("Email '" + userDetails.getEmail() + "' already registered.");
             }
@@ -118,54 +234,68 @@ public class UserService {
 
         // Roles update: This method is for general user updates. Roles should typically
         // be updated via a separate, admin-specific endpoint/method.
-        // If roles ARE allowed to be updated here (e .g., by an admin for a user),
-        // you'd need validation/normalization similar to createUser.
-
-        if (userDetails.getRoles() != null && !userDetails.getRoles().isEmpty()) {
-            Set<String> updatedRoles = new HashSet<>();
-            for (String role : userDetails.getRoles()) {
-                String normalized = role.toUpperCase();
-                if (normalized.startsWith("ROLE_")) {
-                    normalized = normalized.substring(5);
-                }
-                if (normalized.equals("USER") || normalized.equals("ADMIN")) {
-                    updatedRoles.add(normalized);
-                }
-            }
-            if (!updatedRoles.isEmpty()) {
-                existingUser.setRoles(new ArrayList<>(updatedRoles));
-            } else {
-
-                // Decide what to do if invalid roles are provided: keep old roles, default to USER, or throw error
-                // For now, if provided and invalid, they won't be added.
-            }
+        // Missing roles, or only unknown ones, leave the current roles as they are.
+        if (userDetails.getRoleMask() != 0) {
+            existingUser.setRoleMask(userDetails.getRoleMask());
         }
 
 
-        return userRepository.save(existingUser);
+        User saved = userRepository.save(existingUser);
+        invalidationBus.publish(EntityType.USER, id);
+        String newUsername = usernameChanged ? saved.getUsername() : null;
+        String newEmail = emailChanged ? saved.getEmail() : null;
+        if (newUsername != null || newEmail != null) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    availabilityService.taken(newUsername, newEmail);
+                }
+            });
+        }
+        return saved;
     }
 
+    /**
+     * Disables a user right away and leaves the deletion of the user and their content to UserDeletionService.
+     * Requesting the deletion again while it runs keeps the existing job.
+     * @param id The user ID to delete
+     * @throws ResourceNotFoundException if the user does not exist (any more)
+     */
+    @Transactional
     public void deleteUser(Long id) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
-        userRepository.delete(user);
+        user.setEnabled(false);
+        userDeletionService.request(id, user.getUsername());
+        invalidationBus.publish(EntityType.USER, id);
+        // The job must not start before the user is disabled for everyone
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                userDeletionService.start(id);
+            }
+        });
     }
 
+    @Transactional(readOnly = true)
     public List<User> searchByUsername(String username) {
         return userRepository.findByUsernameContainingIgnoreCase(username);
     }
 
+    @Transactional(readOnly = true)
     public User findByUsername(String username) {
         return userRepository.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username));
     }
 
     // Renamed from findByEmail to existsByEmail for clarity of boolean return
+    @Transactional(readOnly = true)
     public boolean emailExists(String email) {
         return userRepository.existsByEmail(email);
     }
 
     // Added to retrieve user by email if needed (distinct from existsByEmail)
+    @Transactional(readOnly = true)
     public Optional<User> findByEmail(String email) {
         return userRepository.findByEmail(email);
     }
@@ -0,0 +1,172 @@
+package com.example.DevHub.Service;
+
+import com.example.DevHub.Model.TrendingType;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Array;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts views of blog posts and projects without writing on the read path.
+ * Views are summed per ID in memory and written every few seconds, or sooner after enough views. Each flush is
+ * one UPDATE per entity type that applies all deltas from two arrays. Each ID has a single immutable
+ * {@link Tally}, replaced atomically, so readers always see its pending, in-flight and written counts together.
+ * Every view is forwarded to the {@link TrendingService}.
+ */
+@Service
+public class ViewCountService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ViewCountService.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TrendingService trendingService;
+    private final long flushThreshold;
+    private final Map<TrendingType, ConcurrentHashMap<Long, Tally>> tallies = new EnumMap<>(TrendingType.class);
+    private final AtomicLong viewsSinceFlush = new AtomicLong();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private final ExecutorService flusher = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "devhub-view-flusher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * The views of one ID this node has not finished writing.
+     * @param pending Counted and not yet taken by a flush
+     * @param inFlight Taken by the flush that is writing them
+     * @param written The stored count the last flush wrote, or 0. Rows read before that flush committed still
+     *                hold the older count, so readers take whichever is higher
+     */
+    private record Tally(long pending, long inFlight, long written) {
+    }
+
+    public ViewCountService(JdbcTemplate jdbcTemplate,
+                            PlatformTransactionManager transactionManager,
+                            TrendingService trendingService,
+                            @Value("${devhub.views.flush-threshold:1000}") long flushThreshold) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.trendingService = trendingService;
+        this.flushThreshold = flushThreshold;
+        for (TrendingType type : TrendingType.values()) {
+            tallies.put(type, new ConcurrentHashMap<>());
+        }
+    }
+
+    /**
+     * Counts a view. Returns without touching the database.
+     * @param type The kind of content
+     * @param id The ID of the blog post or project
+     */
+    public void recordView(TrendingType type, Long id) {
+        tallies.get(type).merge(id, new Tally(1, 0, 0),
+                (tally, one) -> new Tally(tally.pending() + 1, tally.inFlight(), tally.written()));
+        trendingService.recordView(type, id);
+        if (viewsSinceFlush.incrementAndGet() >= flushThreshold && flushRequested.compareAndSet(false, true)) {
+            flusher.execute(this::flush);
+        }
+    }
+
+    /**
+     * Returns the view count to show for a row, including views counted but not yet written.
+     * Correct whether the row was read before or after a flush wrote this node's views.
+     * @param type The kind of content
+     * @param id The ID of the blog post or project
+     * @param storedViews The count from the row as it was read
+     * @return The number of views
+     */
+    public long currentViews(TrendingType type, Long id, long storedViews) {
+        Tally tally = tallies.get(type).get(id);
+        if (tally == null) {
+            return storedViews;
+        }
+        return Math.max(storedViews, tally.written()) + tally.pending() + tally.inFlight();
+    }
+
+    /**
+     * Writes all counted views, one statement per entity type.
+     */
+    @Scheduled(fixedDelayString = "${devhub.views.flush-ms:5000}")
+    public synchronized void flush() {
+        flushRequested.set(false);
+        viewsSinceFlush.set(0);
+        flush(TrendingType.BLOG_POST, "blog_posts");
+        flush(TrendingType.PROJECT, "projects");
+    }
+
+    @PreDestroy
+    public void stop() {
+        flusher.shutdown();
+        flush(); // Graceful shutdown lets requests finish first, so this catches every buffered view
+    }
+
+    private void flush(TrendingType type, String table) {
+        ConcurrentHashMap<Long, Tally> counts = tallies.get(type);
+        List<Long> ids = new ArrayList<>();
+        List<Long> deltas = new ArrayList<>();
+        Map<Long, Long> previouslyWritten = new HashMap<>();
+        for (Long id : counts.keySet()) {
+            // compute is atomic with the merges in recordView, so no view is lost between reading and moving it
+            counts.computeIfPresent(id, (key, tally) -> {
+                if (tally.pending() == 0) {
+                    return null; // Written by an earlier flush, so every row read since holds at least that count
+                }
+                ids.add(key);
+                deltas.add(tally.pending());
+                previouslyWritten.put(key, tally.written());
+                return new Tally(0, tally.pending(), tally.written());
+            });
+        }
+        if (ids.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                List<long[]> rows = jdbcTemplate.query("UPDATE " + table + " t SET views = t.views + d.delta "
+                        + "FROM unnest(?, ?) AS d(id, delta) WHERE t.id = d.id RETURNING t.id, t.views", ps -> {
+                    Array idArray = ps.getConnection().createArrayOf("bigint", ids.toArray());
+                    Array deltaArray = ps.getConnection().createArrayOf("bigint", deltas.toArray());
+                    ps.setArray(1, idArray);
+                    ps.setArray(2, deltaArray);
+                }, (rs, rowNum) -> new long[]{rs.getLong(1), rs.getLong(2)});
+                // Swap in-flight for written before committing: a row read before the commit then shows the
+                // written count, and one read after it is not counted twice
+                Map<Long, Long> written = new HashMap<>();
+                rows.forEach(row -> written.put(row[0], row[1]));
+                for (Long id : ids) {
+                    long views = written.getOrDefault(id, 0L); // Rows deleted meanwhile keep no views
+                    counts.computeIfPresent(id, (key, tally) ->
+                            new Tally(tally.pending(), 0, Math.max(tally.written(), views)));
+                }
+            });
+        } catch (RuntimeException e) {
+            // Hand the deltas back so the next flush retries them
+            for (int i = 0; i < ids.size(); i++) {
+                long delta = deltas.get(i);
+                long before = previouslyWritten.get(ids.get(i));
+                counts.compute(ids.get(i), (key, tally) -> tally == null
+                        ? new Tally(delta, 0, before)
+                        : new Tally(tally.pending() + delta, 0, before));
+            }
+            logger.warn("Failed to flush {} view counts for {}, will retry: {}", ids.size(), table, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.DevHub.Tracing;
+
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+
+/**
+ * Wraps the application DataSource so every executed statement, and every connection checkout,
+ * is added to the current {@link RequestQueryStats}.
+ */
+@Component
+public class QueryStatsDataSourcePostProcessor implements BeanPostProcessor {
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof DataSource dataSource) || bean instanceof ProxyDataSource) {
+            return bean;
+        }
+        return ProxyDataSourceBuilder.create(dataSource)
+                .name(beanName)
+                .listener(QueryExecutionListener.DEFAULT)
+                .afterQuery((execInfo, queryInfoList) -> {
+                    RequestQueryStats stats = RequestQueryStats.current();
+                    if (stats != null) {
+                        // A batch counts once per statement it carried
+                        int statements = execInfo.isBatch() ? Math.max(execInfo.getBatchSize(), 1) : 1;
+                        stats.record(statements, execInfo.getElapsedTime());
+                    }
+                })
+                .afterMethod(context -> {
+                    RequestQueryStats stats = RequestQueryStats.current();
+                    if (stats == null) {
+                        return;
+                    }
+                    String method = context.getMethod().getName();
+                    if (context.getTarget() instanceof DataSource && method.equals("getConnection") && context.getThrown() == null) {
+                        stats.connectionAcquired();
+                    } else if (context.getTarget() instanceof Connection && method.equals("close")) {
+                        stats.connectionReleased();
+                    }
+                })
+                .build();
+    }
+}
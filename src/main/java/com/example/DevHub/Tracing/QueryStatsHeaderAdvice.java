@@ -0,0 +1,43 @@
+package com.example.DevHub.Tracing;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Optionally adds an X-DevHub-Query-Stats debug header with the statements run so far and the connection hold time.
+ * It is written just before the body, so a connection still held at this point (open-in-view) shows up as held time.
+ */
+@ControllerAdvice
+public class QueryStatsHeaderAdvice implements ResponseBodyAdvice<Object> {
+
+    static final String HEADER = "X-DevHub-Query-Stats";
+
+    private final boolean enabled;
+
+    public QueryStatsHeaderAdvice(@Value("${devhub.tracing.debug-header:false}") boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return enabled;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        RequestQueryStats stats = RequestQueryStats.current();
+        if (stats != null) {
+            response.getHeaders().set(HEADER, "count=" + stats.getStatementCount() + ";time-ms=" + stats.getElapsedMillis()
+                    + ";held-ms=" + stats.getConnectionHeldMillis());
+        }
+        return body;
+    }
+}
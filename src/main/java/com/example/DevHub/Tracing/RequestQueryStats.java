@@ -0,0 +1,72 @@
+package com.example.DevHub.Tracing;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JDBC statement count and time of the request handled by the current thread, and how long it held a connection.
+ * Hold time is wall time during which at least one connection was checked out.
+ * Started and cleared by {@link RequestTracingFilter}, filled by {@link QueryStatsDataSourcePostProcessor}.
+ */
+public final class RequestQueryStats {
+
+    private static final ThreadLocal<RequestQueryStats> CURRENT = new ThreadLocal<>();
+
+    private int statementCount;
+    private long elapsedMillis;
+    private int openConnections;
+    private long heldSinceNanos;
+    private long heldNanos;
+
+    private RequestQueryStats() {
+    }
+
+    static RequestQueryStats begin() {
+        RequestQueryStats stats = new RequestQueryStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * @return The stats of the current request, or null outside of a traced request
+     */
+    public static RequestQueryStats current() {
+        return CURRENT.get();
+    }
+
+    void record(int statements, long millis) {
+        statementCount += statements;
+        elapsedMillis += millis;
+    }
+
+    void connectionAcquired() {
+        if (openConnections++ == 0) {
+            heldSinceNanos = System.nanoTime();
+        }
+    }
+
+    void connectionReleased() {
+        if (openConnections > 0 && --openConnections == 0) {
+            heldNanos += System.nanoTime() - heldSinceNanos;
+        }
+    }
+
+    public int getStatementCount() {
+        return statementCount;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    /**
+     * @return Milliseconds a connection has been held so far, including a connection that is still open
+     */
+    public long getConnectionHeldMillis() {
+        long held = heldNanos + (openConnections > 0 ? System.nanoTime() - heldSinceNanos : 0);
+        return TimeUnit.NANOSECONDS.toMillis(held);
+    }
+}
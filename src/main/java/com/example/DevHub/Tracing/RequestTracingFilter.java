@@ -0,0 +1,48 @@
+package com.example.DevHub.Tracing;
+
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Collects the JDBC statement count and time and the connection hold time of each request,
+ * and attaches them to its server span.
+ * Ordered inside the http.server.requests observation but ahead of the security filter chain,
+ * so queries made while authenticating are counted too.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class RequestTracingFilter extends OncePerRequestFilter {
+
+    private final Tracer tracer;
+
+    public RequestTracingFilter(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestQueryStats stats = RequestQueryStats.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            Span span = tracer.currentSpan();
+            if (span != null) {
+                span.tag("db.statement.count", stats.getStatementCount());
+                span.tag("db.statement.time_ms", stats.getElapsedMillis());
+                span.tag("db.connection.held_ms", stats.getConnectionHeldMillis());
+            }
+            RequestQueryStats.end();
+        }
+    }
+}
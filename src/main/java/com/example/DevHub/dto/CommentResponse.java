@@ -0,0 +1,74 @@
+package com.example.DevHub.dto;
+
+import com.example.DevHub.Model.Comment;
+
+import java.time.LocalDateTime;
+
+// Read model of a comment: the author and the commented post or project are reduced to their IDs and
+// the author's username, so it is built from one query and never touches a lazy association.
+public class CommentResponse {
+    private Long id;
+    private String content;
+    private LocalDateTime commentedAt;
+    private Long userId;
+    private String username;
+    private Long blogPostId;
+    private Long projectId;
+    private Long version;
+
+    public CommentResponse(Long id, String content, LocalDateTime commentedAt, Long userId, String username,
+                           Long blogPostId, Long projectId, Long version) {
+        this.id = id;
+        this.content = content;
+        this.commentedAt = commentedAt;
+        this.userId = userId;
+        this.username = username;
+        this.blogPostId = blogPostId;
+        this.projectId = projectId;
+        this.version = version;
+    }
+
+    /**
+     * Builds the response for a comment that is already loaded, as on the write paths.
+     * @param comment The comment, with its user set
+     * @return The response
+     */
+    public static CommentResponse from(Comment comment) {
+        return new CommentResponse(comment.getId(), comment.getContent(), comment.getCommentedAt(),
+                comment.getUser().getId(), comment.getUser().getUsername(),
+                comment.getBlogPost() != null ? comment.getBlogPost().getId() : null,
+                comment.getProject() != null ? comment.getProject().getId() : null, comment.getVersion());
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getContent() {
+        return content;
+    }
+
+    public LocalDateTime getCommentedAt() {
+        return commentedAt;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public Long getBlogPostId() {
+        return blogPostId;
+    }
+
+    public Long getProjectId() {
+        return projectId;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+}
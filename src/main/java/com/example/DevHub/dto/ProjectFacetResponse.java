@@ -0,0 +1,30 @@
+package com.example.DevHub.dto;
+
+import com.example.DevHub.Model.Project;
+
+import java.util.List;
+
+// One page of a faceted project search, with the total number of matches and the counts per technology facet.
+public class ProjectFacetResponse {
+    private List<Project> projects;
+    private long total;
+    private List<TermCount> facets;
+
+    public ProjectFacetResponse(List<Project> projects, long total, List<TermCount> facets) {
+        this.projects = projects;
+        this.total = total;
+        this.facets = facets;
+    }
+
+    public List<Project> getProjects() {
+        return projects;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public List<TermCount> getFacets() {
+        return facets;
+    }
+}
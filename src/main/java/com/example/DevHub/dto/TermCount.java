@@ -0,0 +1,20 @@
+package com.example.DevHub.dto;
+
+// A term (tag or technology) and the number of items carrying it, used for tag clouds and facet counts.
+public class TermCount {
+    private String name;
+    private long count;
+
+    public TermCount(String name, long count) {
+        this.name = name;
+        this.count = count;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getCount() {
+        return count;
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.DevHub.dto;
+
+// A ranked blog post or project in a trending list; the score is the current time-decayed activity.
+public class TrendingEntry {
+    private Long id;
+    private String title;
+    private double score;
+    private long views;
+    private long comments;
+
+    public TrendingEntry(Long id, String title, double score, long views, long comments) {
+        this.id = id;
+        this.title = title;
+        this.score = score;
+        this.views = views;
+        this.comments = comments;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public double getScore() {
+        return score;
+    }
+
+    public long getViews() {
+        return views;
+    }
+
+    public long getComments() {
+        return comments;
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.DevHub.dto;
+
+import java.util.List;
+
+// One page of the admin user listing, with the total number of users matching the filter.
+public class UserPageResponse {
+    private List<UserResponse> users;
+    private int page;
+    private int size;
+    private long total;
+
+    public UserPageResponse(List<UserResponse> users, int page, int size, long total) {
+        this.users = users;
+        this.page = page;
+        this.size = size;
+        this.total = total;
+    }
+
+    public List<UserResponse> getUsers() {
+        return users;
+    }
+
+    public int getPage() {
+        return page;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+}
@@ -1,5 +1,7 @@
 package com.example.DevHub.dto;
 
+import com.example.DevHub.Model.Role;
+
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -26,6 +28,11 @@ public class UserResponse {
         this.githubUrl = githubUrl;
     }
 
+    // Constructor for JPQL constructor expressions, which select the role mask instead of the role names
+    public UserResponse(Long id, String username, String email, int roleMask, LocalDateTime createdAt, String bio, String linkedinUrl, String githubUrl) {
+        this(id, username, email, Role.names(roleMask), createdAt, bio, linkedinUrl, githubUrl);
+    }
+
     // Getters
     public Long getId() {
         return id;
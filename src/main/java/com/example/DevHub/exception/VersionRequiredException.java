@@ -0,0 +1,12 @@
+package com.example.DevHub.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+// An update without the version it was based on would silently overwrite concurrent changes
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class VersionRequiredException extends RuntimeException {
+    public VersionRequiredException(String message) {
+        super(message);
+    }
+}
@@ -1,4 +1,97 @@
 package com.example.DevHub;
 
+import com.example.DevHub.Model.BlogPost;
+import com.example.DevHub.Model.Comment;
+import com.example.DevHub.Model.User;
+import com.example.DevHub.Repository.BlogPostRepository;
+import com.example.DevHub.Repository.CommentRepository;
+import com.example.DevHub.Repository.UserRepository;
+import com.example.DevHub.Service.CommentService;
+import com.example.DevHub.dto.CommentResponse;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Comment reads must cost the same number of statements whatever the page size: no lazy loads per comment.
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
 public class CommentTest {
+
+    @Autowired
+    private CommentService commentService;
+    @Autowired
+    private CommentRepository commentRepository;
+    @Autowired
+    private BlogPostRepository blogPostRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private User author;
+    private BlogPost blogPost;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        author = new User();
+        author.setUsername("comment-test-" + System.nanoTime());
+        author.setEmail(author.getUsername() + "@example.com");
+        author.setPassword("password-not-checked");
+        author = userRepository.save(author);
+        blogPost = new BlogPost();
+        blogPost.setTitle("Statement counts");
+        blogPost.setContent("A post with many comments");
+        blogPost.setAuthor(author);
+        blogPost = blogPostRepository.save(blogPost);
+        for (int i = 0; i < 30; i++) {
+            Comment comment = new Comment();
+            comment.setContent("Comment " + i);
+            comment.setUser(author);
+            comment.setBlogPost(blogPost);
+            commentRepository.save(comment);
+        }
+        // Start from an empty persistence context so nothing is served from the first-level cache
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void pageOfCommentsCostsOneStatementRegardlessOfSize() {
+        assertEquals(1, statementsFor(1));
+        assertEquals(1, statementsFor(10));
+        assertEquals(1, statementsFor(30));
+    }
+
+    @Test
+    void responsesCarryAuthorAndTarget() {
+        List<CommentResponse> comments = commentService.getCommentsByBlogPostId(blogPost.getId(), PageRequest.of(0, 5));
+        assertEquals(5, comments.size());
+        for (CommentResponse comment : comments) {
+            assertEquals(author.getId(), comment.getUserId());
+            assertEquals(author.getUsername(), comment.getUsername());
+            assertEquals(blogPost.getId(), comment.getBlogPostId());
+        }
+    }
+
+    private long statementsFor(int pageSize) {
+        statistics.clear();
+        List<CommentResponse> comments = commentService.getCommentsByBlogPostId(blogPost.getId(), PageRequest.of(0, pageSize));
+        assertEquals(pageSize, comments.size());
+        return statistics.getPrepareStatementCount();
+    }
 }
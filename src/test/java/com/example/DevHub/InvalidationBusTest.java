@@ -0,0 +1,92 @@
+package com.example.DevHub;
+
+import com.example.DevHub.Cache.BusMessageListener;
+import com.example.DevHub.Cache.CacheRegion;
+import com.example.DevHub.Cache.ListResponseCache;
+import com.example.DevHub.Json.WireFormat;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.fail;
+
+// A NOTIFY sent by another session, as a peer node would, must evict this node's cached lists and reach its
+// message listeners
+@SpringBootTest(properties = "devhub.cache.invalidation.mode=postgres")
+public class InvalidationBusTest {
+
+    private static final BlockingQueue<String> received = new LinkedBlockingQueue<>();
+
+    @TestConfiguration
+    static class RecordingListener {
+        @Bean
+        BusMessageListener recordingListener() {
+            return (topic, message) -> {
+                if ("bus-test".equals(topic)) {
+                    received.add(message);
+                }
+            };
+        }
+    }
+
+    @Autowired
+    private ListResponseCache listResponseCache;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Value("${devhub.cache.invalidation.channel:devhub_invalidation}")
+    private String channel;
+
+    @Test
+    void peerInvalidationEvictsCachedList() throws InterruptedException {
+        String filter = "bus-test:" + System.nanoTime();
+        assertEquals("[\"before\"]", cached(filter, () -> List.of("before")));
+        // Still cached: the loader is not called again
+        assertEquals("[\"before\"]", cached(filter, () -> List.of("after")));
+
+        // The pool's connection is a different session from the bus's own listening connection
+        jdbcTemplate.queryForObject("SELECT pg_notify(?, ?)", Object.class, channel, "peer-node|BLOG_POST|42");
+        awaitReload(filter);
+    }
+
+    @Test
+    void peerFlushEvictsEveryRegion() throws InterruptedException {
+        String filter = "bus-test:" + System.nanoTime();
+        assertEquals("[\"before\"]", cached(filter, () -> List.of("before")));
+
+        jdbcTemplate.queryForObject("SELECT pg_notify(?, ?)", Object.class, channel, "peer-node|FLUSH");
+        awaitReload(filter);
+    }
+
+    @Test
+    void peerMessageReachesListeners() throws InterruptedException {
+        received.clear();
+        jdbcTemplate.queryForObject("SELECT pg_notify(?, ?)", Object.class, channel, "peer-node|MSG|bus-test|a|b");
+        assertEquals("a|b", received.poll(10, TimeUnit.SECONDS));
+    }
+
+    private void awaitReload(String filter) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (System.currentTimeMillis() < deadline) {
+            if (cached(filter, () -> List.of("after")).equals("[\"after\"]")) {
+                return;
+            }
+            Thread.sleep(50);
+        }
+        fail("Cached list was not invalidated by the peer notification");
+    }
+
+    private String cached(String filter, Supplier<?> loader) {
+        return new String(listResponseCache.get(CacheRegion.BLOG_POSTS, filter, -1, -1, WireFormat.JSON, loader));
+    }
+}
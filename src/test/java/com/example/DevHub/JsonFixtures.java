@@ -0,0 +1,57 @@
+package com.example.DevHub;
+
+import com.example.DevHub.Model.BlogPost;
+import com.example.DevHub.Model.Project;
+import com.example.DevHub.dto.CommentResponse;
+import com.example.DevHub.dto.UserResponse;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// List payloads shared by the serialization tests and benchmarks: nulls, escapes and non-ASCII text included
+final class JsonFixtures {
+
+    private JsonFixtures() {
+    }
+
+    static BlogPost blogPost(int i) {
+        BlogPost post = new BlogPost();
+        post.setId(1000L + i);
+        post.setTitle("Tuning the \"hot\" path, part " + i);
+        post.setContent("Body of post " + i + ": " + "lorem ipsum dolor sit amet ".repeat(40));
+        post.setTags(i % 5 == 0 ? null : List.of("java", "spring", "performance"));
+        post.setViews(37L * i);
+        post.setCreatedAt(LocalDateTime.of(2025, 3, 1, 12, 30, 15).plusMinutes(i));
+        post.setUpdatedAt(i % 3 == 0 ? null : LocalDateTime.of(2025, 3, 2, 8, 0, 0, 123_456_000).plusMinutes(i));
+        post.setVersion((long) i % 4);
+        return post;
+    }
+
+    static Project project(int i) {
+        Project project = new Project();
+        project.setId(2000L + i);
+        project.setTitle("Project " + i);
+        project.setDescription("A description of project " + i + " ünïcödé ".repeat(10));
+        project.setUrl("https://github.com/example/project-" + i);
+        project.setDemoUrl(i % 2 == 0 ? null : "https://demo.example.com/" + i);
+        project.setTechStack("Java, Spring Boot, PostgreSQL");
+        project.setViews(11L * i);
+        project.setCreatedAt(LocalDateTime.of(2024, 11, 5, 9, 15).plusHours(i));
+        project.setUpdatedAt(LocalDateTime.of(2024, 11, 6, 9, 15).plusHours(i));
+        project.setVersion((long) i);
+        return project;
+    }
+
+    static CommentResponse comment(int i) {
+        return new CommentResponse(3000L + i, "Nice write-up\nthanks! #" + i,
+                LocalDateTime.of(2025, 1, 1, 0, 0).plusSeconds(97L * i), 10L + i % 7, "user" + i % 7,
+                i % 2 == 0 ? 1000L + i : null, i % 2 == 0 ? null : 2000L + i, 0L);
+    }
+
+    static UserResponse user(int i) {
+        return new UserResponse(10L + i, "user" + i, "user" + i + "@example.com",
+                i == 0 ? List.of("ROLE_USER", "ROLE_ADMIN") : List.of("ROLE_USER"),
+                LocalDateTime.of(2023, 6, 1, 10, 0).plusDays(i), i % 2 == 0 ? null : "Bio of user " + i,
+                null, "https://github.com/user" + i);
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.DevHub;
+
+import com.example.DevHub.Json.DevHubJsonModule;
+import com.example.DevHub.Model.BlogPost;
+import com.example.DevHub.Model.Project;
+import com.example.DevHub.dto.CommentResponse;
+import com.example.DevHub.dto.UserResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the reflective Jackson serializers with DevHubJsonModule on pages of the list endpoints' types.
+ * Each invocation writes one page of {@value #PAGE} entities to a stream that only counts bytes, so the
+ * score is entities per second and the "bytes" counter is bytes per second; with the GC profiler,
+ * gc.alloc.rate.norm is the allocation per entity. Not run by the test phase; after test-compile run
+ * <pre>
+ * java -cp "target/test-classes:target/classes:$(mvn -q dependency:build-classpath -Dmdep.outputFile=/dev/stdout)" \
+ *     com.example.DevHub.JsonSerializationBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+@State(Scope.Thread)
+public class JsonSerializationBenchmark {
+
+    static final int PAGE = 20;
+
+    @Param({"reflective", "module"})
+    public String serializers;
+
+    private ObjectMapper mapper;
+    private List<BlogPost> posts;
+    private List<Project> projects;
+    private List<CommentResponse> comments;
+    private List<UserResponse> users;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Output extends OutputStream {
+        public long bytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            bytes = 0;
+        }
+
+        @Override
+        public void write(int b) {
+            bytes++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            bytes += len;
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        mapper = "module".equals(serializers) ? mapper(true) : mapper(false);
+        posts = new ArrayList<>();
+        projects = new ArrayList<>();
+        comments = new ArrayList<>();
+        users = new ArrayList<>();
+        for (int i = 0; i < PAGE; i++) {
+            posts.add(JsonFixtures.blogPost(i));
+            projects.add(JsonFixtures.project(i));
+            comments.add(JsonFixtures.comment(i));
+            users.add(JsonFixtures.user(i));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAGE)
+    public void blogPosts(Output out) throws IOException {
+        mapper.writeValue(out, posts);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAGE)
+    public void projects(Output out) throws IOException {
+        mapper.writeValue(out, projects);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAGE)
+    public void comments(Output out) throws IOException {
+        mapper.writeValue(out, comments);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAGE)
+    public void users(Output out) throws IOException {
+        mapper.writeValue(out, users);
+    }
+
+    // Configured like Boot's auto-configured mapper, which JsonSerializationTest compares against the real one
+    static ObjectMapper mapper(boolean withModule) {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        if (withModule) {
+            builder.modulesToInstall(DevHubJsonModule.class);
+        }
+        return builder.build();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JsonSerializationBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
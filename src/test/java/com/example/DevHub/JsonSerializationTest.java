@@ -0,0 +1,53 @@
+package com.example.DevHub;
+
+import com.example.DevHub.Json.DevHubJsonModule;
+import com.example.DevHub.Model.BlogPost;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ser.BeanSerializer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.json.JsonTest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// DevHubJsonModule must write exactly what the reflective serializers do, nulls and field order included.
+// Both mappers come from the application's Jackson configuration; the reflective one only leaves the module out.
+@JsonTest
+public class JsonSerializationTest {
+
+    @Autowired
+    private ObjectMapper module;
+    @Autowired
+    private Jackson2ObjectMapperBuilder builder;
+
+    @Test
+    void moduleMatchesReflectiveOutput() throws Exception {
+        ObjectMapper reflective = builder
+                .modulesToInstall(modules -> modules.removeIf(DevHubJsonModule.class::isInstance))
+                .build();
+        // Otherwise the comparison below would pass trivially
+        assertEquals(DevHubJsonModule.class, serializerOf(module).getEnclosingClass());
+        assertEquals(BeanSerializer.class, serializerOf(reflective));
+
+        List<Object> values = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            values.add(JsonFixtures.blogPost(i));
+            values.add(JsonFixtures.project(i));
+            values.add(JsonFixtures.comment(i));
+            values.add(JsonFixtures.user(i));
+        }
+        for (Object value : values) {
+            assertEquals(reflective.writeValueAsString(value), module.writeValueAsString(value),
+                    value.getClass().getSimpleName());
+        }
+        assertEquals(reflective.writeValueAsString(values), module.writeValueAsString(values));
+    }
+
+    private static Class<?> serializerOf(ObjectMapper mapper) throws Exception {
+        return mapper.getSerializerProviderInstance().findValueSerializer(BlogPost.class).getClass();
+    }
+}
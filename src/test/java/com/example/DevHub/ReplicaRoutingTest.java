@@ -0,0 +1,124 @@
+package com.example.DevHub;
+
+import com.example.DevHub.Config.ReplicaRoutingDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// Reads go to a healthy replica unless the replica lags or the user's own write committed within the window
+public class ReplicaRoutingTest {
+
+    private static final long MAX_LAG_MS = 1000;
+
+    private final Connection primaryConnection = mock(Connection.class);
+    private final Connection replicaConnection = mock(Connection.class);
+    private final ResultSet lag = mock(ResultSet.class);
+    private ReplicaRoutingDataSource routing;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        DataSource primary = mock(DataSource.class);
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        DataSource replica = mock(DataSource.class);
+        when(replica.getConnection()).thenReturn(replicaConnection);
+        Statement statement = mock(Statement.class);
+        when(replicaConnection.createStatement()).thenReturn(statement);
+        when(statement.executeQuery(anyString())).thenReturn(lag);
+        when(lag.next()).thenReturn(true);
+        routing = new ReplicaRoutingDataSource(primary, Map.of("replica-0", replica), MAX_LAG_MS, 60_000);
+        routing.afterPropertiesSet();
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("alice", null, List.of()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clear();
+        }
+    }
+
+    @Test
+    void readsUseReplicaOnlyWhileWithinLag() throws SQLException {
+        assertSame(primaryConnection, connection(true), "unchecked replica");
+        replicaLag(10);
+        assertSame(replicaConnection, connection(true));
+        assertSame(primaryConnection, connection(false));
+        replicaLag(MAX_LAG_MS + 1);
+        assertSame(primaryConnection, connection(true), "lagging replica");
+    }
+
+    @Test
+    void replicaThatNeverReplayedIsUnusable() throws SQLException {
+        replicaLag(10);
+        when(lag.wasNull()).thenReturn(true);
+        routing.checkReplicas();
+        assertSame(primaryConnection, connection(true));
+    }
+
+    @Test
+    void writerReadsFromPrimaryOnlyAfterCommit() throws SQLException {
+        replicaLag(10);
+        begin(false);
+        assertSame(primaryConnection, routing.getConnection());
+        List<TransactionSynchronization> pending = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clear();
+        assertSame(replicaConnection, connection(true), "write not committed yet");
+
+        pending.forEach(TransactionSynchronization::afterCommit);
+        assertSame(primaryConnection, connection(true), "own write just committed");
+
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("bob", null, List.of()));
+        assertSame(replicaConnection, connection(true), "another user");
+    }
+
+    @Test
+    void rolledBackWriteDoesNotPinReads() throws SQLException {
+        replicaLag(10);
+        begin(false);
+        routing.getConnection();
+        TransactionSynchronizationManager.clear();
+        assertSame(replicaConnection, connection(true));
+    }
+
+    private void replicaLag(long millis) throws SQLException {
+        when(lag.getLong(1)).thenReturn(millis);
+        when(lag.wasNull()).thenReturn(false);
+        routing.checkReplicas();
+    }
+
+    // Routes a connection as a transaction with the given read-only flag would
+    private Connection connection(boolean readOnly) throws SQLException {
+        begin(readOnly);
+        try {
+            return routing.getConnection();
+        } finally {
+            TransactionSynchronizationManager.clear();
+        }
+    }
+
+    private static void begin(boolean readOnly) {
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(readOnly);
+    }
+}
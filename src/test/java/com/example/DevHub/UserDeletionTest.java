@@ -0,0 +1,132 @@
+package com.example.DevHub;
+
+import com.example.DevHub.Model.ActivityEvent;
+import com.example.DevHub.Model.ActivityType;
+import com.example.DevHub.Model.BlogPost;
+import com.example.DevHub.Model.Comment;
+import com.example.DevHub.Model.User;
+import com.example.DevHub.Model.UserDeletionJob;
+import com.example.DevHub.Repository.ActivityEventRepository;
+import com.example.DevHub.Repository.BlogPostRepository;
+import com.example.DevHub.Repository.CommentRepository;
+import com.example.DevHub.Repository.UserDeletionJobRepository;
+import com.example.DevHub.Repository.UserRepository;
+import com.example.DevHub.Service.UserDeletionService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.fail;
+
+// A job abandoned partway by a node that died resumes at its stored phase once its lease runs out, and only then
+@SpringBootTest(properties = {"devhub.users.deletion.batch-size=2", "devhub.users.deletion.pause-ms=0"})
+public class UserDeletionTest {
+
+    @Autowired
+    private UserDeletionService userDeletionService;
+    @Autowired
+    private UserDeletionJobRepository jobRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private BlogPostRepository blogPostRepository;
+    @Autowired
+    private CommentRepository commentRepository;
+    @Autowired
+    private ActivityEventRepository activityEventRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void abandonedJobResumesAtItsPhase() throws InterruptedException {
+        User author = user("deletion-author-");
+        User reader = user("deletion-reader-");
+        // The author's own comments were deleted by the node that died; their posts were not reached yet
+        for (int i = 0; i < 3; i++) {
+            BlogPost post = new BlogPost();
+            post.setTitle("Post " + i);
+            post.setContent("Deleted with its author");
+            post.setAuthor(author);
+            post = blogPostRepository.save(post);
+            for (int j = 0; j < 3; j++) {
+                Comment comment = new Comment();
+                comment.setContent("Comment " + j);
+                comment.setUser(reader);
+                comment.setBlogPost(post);
+                commentRepository.save(comment);
+            }
+            activityEventRepository.save(new ActivityEvent(null, ActivityType.BLOG_POST_CREATED, author.getId(),
+                    author.getUsername(), post.getId(), null, null, post.getTitle(), LocalDateTime.now()));
+            activityEventRepository.save(new ActivityEvent(null, ActivityType.BLOG_COMMENT_CREATED, reader.getId(),
+                    reader.getUsername(), post.getId(), post.getId(), author.getId(), "Comment", LocalDateTime.now()));
+        }
+        activityEventRepository.save(new ActivityEvent(null, ActivityType.BLOG_POST_CREATED, reader.getId(),
+                reader.getUsername(), 0L, null, null, "Unrelated", LocalDateTime.now()));
+        UserDeletionJob job = abandonedJob(author, LocalDateTime.now().minusMinutes(1));
+        job.setDeletedComments(4);
+        jobRepository.save(job);
+
+        userDeletionService.resumeAbandoned();
+
+        UserDeletionJob done = awaitDone(author.getId());
+        assertEquals(4 + 9, done.getDeletedComments());
+        assertEquals(3, done.getDeletedBlogPosts());
+        assertEquals(6, done.getDeletedActivityEvents());
+        assertEquals(0, count("SELECT COUNT(*) FROM users WHERE id = ?", author.getId()));
+        assertEquals(0, count("SELECT COUNT(*) FROM blog_posts WHERE author_id = ?", author.getId()));
+        assertEquals(0, count("SELECT COUNT(*) FROM activity_events WHERE actor_id = ? OR owner_id = ?", author.getId(), author.getId()));
+        assertEquals(1, count("SELECT COUNT(*) FROM activity_events WHERE actor_id = ?", reader.getId()));
+    }
+
+    @Test
+    void jobWithLiveLeaseIsLeftToItsNode() throws InterruptedException {
+        User author = user("deletion-leased-");
+        jobRepository.save(abandonedJob(author, LocalDateTime.now().plusMinutes(10)));
+
+        userDeletionService.resumeAbandoned();
+        Thread.sleep(500);
+
+        assertEquals(UserDeletionJob.Phase.BLOG_POSTS, jobRepository.findById(author.getId()).orElseThrow().getPhase());
+        assertEquals(1, count("SELECT COUNT(*) FROM users WHERE id = ?", author.getId()));
+    }
+
+    private User user(String prefix) {
+        User user = new User();
+        user.setUsername(prefix + System.nanoTime());
+        user.setEmail(user.getUsername() + "@example.com");
+        user.setPassword("password-not-checked");
+        return userRepository.save(user);
+    }
+
+    private static UserDeletionJob abandonedJob(User user, LocalDateTime leaseUntil) {
+        UserDeletionJob job = new UserDeletionJob();
+        job.setUserId(user.getId());
+        job.setUsername(user.getUsername());
+        job.setPhase(UserDeletionJob.Phase.BLOG_POSTS);
+        job.setRequestedAt(LocalDateTime.now().minusMinutes(5));
+        job.setUpdatedAt(LocalDateTime.now().minusMinutes(2));
+        job.setLeaseUntil(leaseUntil);
+        return job;
+    }
+
+    private UserDeletionJob awaitDone(Long userId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 30_000;
+        while (System.currentTimeMillis() < deadline) {
+            UserDeletionJob job = jobRepository.findById(userId).orElseThrow();
+            if (job.getPhase() == UserDeletionJob.Phase.DONE) {
+                return job;
+            }
+            Thread.sleep(100);
+        }
+        fail("Deletion job of user " + userId + " did not finish");
+        return null;
+    }
+
+    private long count(String sql, Object... args) {
+        return jdbcTemplate.queryForObject(sql, Long.class, args);
+    }
+}
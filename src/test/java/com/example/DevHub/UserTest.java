@@ -1,4 +1,105 @@
 package com.example.DevHub;
 
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Concurrent sign-ups for the same username or email: exactly one wins, every other one gets a 409 naming the conflict.
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 public class UserTest {
+
+    private static final int ACCOUNTS = 10;
+    private static final int ATTEMPTS_PER_ACCOUNT = 8;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final String prefix = "signup-" + System.nanoTime();
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM users WHERE username LIKE ?", prefix + "%");
+    }
+
+    @Test
+    void concurrentSignUpsCreateNoDuplicatesAndNoServerErrors() throws Exception {
+        // Even attempts race for the account's username, odd attempts for its email; the other value is unique
+        List<Map<String, Object>> requests = new ArrayList<>();
+        for (int account = 0; account < ACCOUNTS; account++) {
+            for (int attempt = 0; attempt < ATTEMPTS_PER_ACCOUNT; attempt++) {
+                boolean sameUsername = attempt % 2 == 0;
+                String unique = prefix + "-" + account + "-" + attempt;
+                requests.add(Map.of(
+                        "username", sameUsername ? username(account) : unique,
+                        "email", sameUsername ? unique + "@example.com" : email(account),
+                        "password", "password-" + attempt));
+            }
+        }
+
+        ExecutorService clients = Executors.newFixedThreadPool(32);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<ResponseEntity<Map>>> responses = new ArrayList<>();
+        try {
+            for (Map<String, Object> request : requests) {
+                responses.add(clients.submit(() -> {
+                    start.await();
+                    return restTemplate.postForEntity("/api/auth/register", request, Map.class);
+                }));
+            }
+            start.countDown();
+
+            int created = 0;
+            for (int i = 0; i < responses.size(); i++) {
+                ResponseEntity<Map> response = responses.get(i).get();
+                int status = response.getStatusCode().value();
+                assertTrue(status == 201 || status == 409, "Unexpected status " + status + ": " + response.getBody());
+                if (status == 201) {
+                    created++;
+                    assertTrue(response.getBody().containsKey("token"));
+                } else {
+                    String expected = i % ATTEMPTS_PER_ACCOUNT % 2 == 0 ? "Username" : "Email";
+                    String message = String.valueOf(response.getBody().get("message"));
+                    assertTrue(message.startsWith(expected), "Conflict reported as: " + message);
+                }
+            }
+            assertEquals(2 * ACCOUNTS, created);
+        } finally {
+            clients.shutdownNow();
+        }
+
+        for (int account = 0; account < ACCOUNTS; account++) {
+            assertEquals(1, count("SELECT COUNT(*) FROM users WHERE username = ?", username(account)));
+            assertEquals(1, count("SELECT COUNT(*) FROM users WHERE email = ?", email(account)));
+        }
+        assertEquals(2 * ACCOUNTS, count("SELECT COUNT(*) FROM users WHERE username LIKE ?", prefix + "%"));
+    }
+
+    private String username(int account) {
+        return prefix + "-" + account;
+    }
+
+    private String email(int account) {
+        return prefix + "-" + account + "@example.com";
+    }
+
+    private long count(String sql, String value) {
+        return jdbcTemplate.queryForObject(sql, Long.class, value);
+    }
 }
@@ -0,0 +1,125 @@
+package com.example.DevHub;
+
+import com.example.DevHub.Json.DevHubJsonModule;
+import com.example.DevHub.Model.BlogPost;
+import com.example.DevHub.Model.Project;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encode and decode throughput of the list payloads in JSON, CBOR and Smile, in entities per second.
+ * The mappers are configured like BinaryFormatConfig's, on pages of {@value #PAGE} posts and projects whose
+ * text fields dominate the payload. Run like JsonSerializationBenchmark, with WireFormatBenchmark as the main class;
+ * add -Ddevhub.benchmark.sizes=true, which JMH passes on to its forks, to print each format's payload sizes at setup.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+@State(Scope.Thread)
+public class WireFormatBenchmark {
+
+    static final int PAGE = 20;
+
+    private static final TypeReference<List<BlogPost>> POSTS = new TypeReference<>() {
+    };
+    private static final TypeReference<List<Project>> PROJECTS = new TypeReference<>() {
+    };
+
+    @Param({"json", "cbor", "smile"})
+    public String format;
+
+    private ObjectMapper mapper;
+    private List<BlogPost> posts;
+    private List<Project> projects;
+    private byte[] encodedPosts;
+    private byte[] encodedProjects;
+
+    @Setup
+    public void setUp() throws IOException {
+        mapper = mapper(format);
+        posts = new ArrayList<>();
+        projects = new ArrayList<>();
+        for (int i = 0; i < PAGE; i++) {
+            posts.add(JsonFixtures.blogPost(i));
+            projects.add(JsonFixtures.project(i));
+        }
+        encodedPosts = mapper.writeValueAsBytes(posts);
+        encodedProjects = mapper.writeValueAsBytes(projects);
+        if (Boolean.getBoolean("devhub.benchmark.sizes")) {
+            System.out.printf("%n%s payload: %d bytes per %d posts, %d bytes per %d projects%n",
+                    format, encodedPosts.length, PAGE, encodedProjects.length, PAGE);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAGE)
+    public byte[] encodePosts() throws IOException {
+        return mapper.writeValueAsBytes(posts);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAGE)
+    public List<BlogPost> decodePosts() throws IOException {
+        return mapper.readValue(encodedPosts, POSTS);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAGE)
+    public byte[] encodeProjects() throws IOException {
+        return mapper.writeValueAsBytes(projects);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAGE)
+    public List<Project> decodeProjects() throws IOException {
+        return mapper.readValue(encodedProjects, PROJECTS);
+    }
+
+    private static ObjectMapper mapper(String format) {
+        JsonFactory factory = switch (format) {
+            case "cbor" -> new CBORFactory();
+            case "smile" -> new SmileFactory();
+            default -> new JsonFactory();
+        };
+        return Jackson2ObjectMapperBuilder.json()
+                .factory(factory)
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .modulesToInstall(DevHubJsonModule.class)
+                .build();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(WireFormatBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.DevHub;
+
+import com.example.DevHub.Cache.CacheRegion;
+import com.example.DevHub.Cache.ListResponseCache;
+import com.example.DevHub.Json.DevHubJsonModule;
+import com.example.DevHub.Json.WireFormat;
+import com.example.DevHub.Model.BlogPost;
+import com.example.DevHub.Model.Role;
+import com.example.DevHub.Model.User;
+import com.example.DevHub.Repository.UserRepository;
+import com.example.DevHub.Service.JwtService;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// The CBOR and Smile mappers BinaryFormatConfig builds must encode exactly the values the JSON mapper does,
+// both through MVC's converters and through ListResponseCache
+@SpringBootTest
+@AutoConfigureMockMvc
+public class WireFormatTest {
+
+    private static final TypeReference<List<BlogPost>> POSTS = new TypeReference<>() {
+    };
+
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private MappingJackson2CborHttpMessageConverter cborConverter;
+    @Autowired
+    private MappingJackson2SmileHttpMessageConverter smileConverter;
+    @Autowired
+    private ListResponseCache listResponseCache;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private JwtService jwtService;
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void negotiatesByAcceptHeader() {
+        assertEquals(WireFormat.JSON, WireFormat.negotiate(null));
+        assertEquals(WireFormat.JSON, WireFormat.negotiate("*/*"));
+        assertEquals(WireFormat.JSON, WireFormat.negotiate("application/json"));
+        assertEquals(WireFormat.JSON, WireFormat.negotiate("text/html, not a media type"));
+        assertEquals(WireFormat.CBOR, WireFormat.negotiate("application/cbor"));
+        assertEquals(WireFormat.SMILE, WireFormat.negotiate("application/x-jackson-smile, */*;q=0.1"));
+        assertEquals(WireFormat.CBOR, WireFormat.negotiate("application/json;q=0.5, application/cbor"));
+        assertEquals(WireFormat.JSON, WireFormat.negotiate("application/cbor;q=0, */*"));
+    }
+
+    @Test
+    void convertersCarryTheApplicationConfiguration() throws Exception {
+        for (Map.Entry<WireFormat, ObjectMapper> format : binaryMappers().entrySet()) {
+            ObjectMapper binary = format.getValue();
+            assertEquals(DevHubJsonModule.class, binary.getSerializerProviderInstance()
+                    .findValueSerializer(BlogPost.class).getClass().getEnclosingClass(), format.getKey().name());
+            assertFalse(binary.isEnabled(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS), format.getKey().name());
+        }
+    }
+
+    @Test
+    void binaryFormatsRoundTripTheSameValues() throws Exception {
+        for (Map.Entry<WireFormat, ObjectMapper> format : binaryMappers().entrySet()) {
+            ObjectMapper binary = format.getValue();
+            for (int i = 0; i < 6; i++) {
+                BlogPost post = JsonFixtures.blogPost(i);
+                BlogPost decoded = binary.readValue(binary.writeValueAsBytes(post), BlogPost.class);
+                assertEquals(objectMapper.writeValueAsString(post), objectMapper.writeValueAsString(decoded),
+                        format.getKey().name());
+            }
+        }
+    }
+
+    @Test
+    void listResponseCacheEncodesLikeTheConverters() throws Exception {
+        List<BlogPost> posts = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            posts.add(JsonFixtures.blogPost(i));
+        }
+        String filter = "wire-format-test:" + System.nanoTime();
+        String expected = objectMapper.writeValueAsString(posts);
+        assertEquals(expected, new String(listResponseCache.get(CacheRegion.BLOG_POSTS, filter, -1, -1,
+                WireFormat.JSON, () -> posts)));
+        for (Map.Entry<WireFormat, ObjectMapper> format : binaryMappers().entrySet()) {
+            byte[] body = listResponseCache.get(CacheRegion.BLOG_POSTS, filter, -1, -1, format.getKey(), () -> posts);
+            assertEquals(expected, objectMapper.writeValueAsString(format.getValue().readValue(body, POSTS)),
+                    format.getKey().name());
+        }
+    }
+
+    @Test
+    void createsBlogPostFromCborBody() throws Exception {
+        User author = new User();
+        author.setUsername("wire-format-" + System.nanoTime());
+        author.setEmail(author.getUsername() + "@example.com");
+        author.setPassword("password-not-checked");
+        author.setRoleMask(Role.USER.bit());
+        author = userRepository.save(author);
+        ObjectMapper cbor = cborConverter.getObjectMapper();
+        BlogPost post = JsonFixtures.blogPost(1);
+        post.setId(null);
+        post.setVersion(null);
+
+        MvcResult result = mockMvc.perform(post("/api/blog-posts")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + jwtService.generateToken(author))
+                        .contentType(MediaType.APPLICATION_CBOR)
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .content(cbor.writeValueAsBytes(post)))
+                .andExpect(status().isCreated())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR))
+                .andReturn();
+
+        BlogPost created = cbor.readValue(result.getResponse().getContentAsByteArray(), BlogPost.class);
+        assertNotNull(created.getId());
+        assertEquals(post.getTitle(), created.getTitle());
+        assertEquals(post.getContent(), created.getContent());
+        assertEquals(post.getTags(), created.getTags());
+    }
+
+    private Map<WireFormat, ObjectMapper> binaryMappers() {
+        return Map.of(WireFormat.CBOR, cborConverter.getObjectMapper(), WireFormat.SMILE, smileConverter.getObjectMapper());
+    }
+}